@@ -0,0 +1,49 @@
+package com.solandra.hideout.benchmark;
+
+import com.sk89q.worldedit.WorldEdit;
+import com.sk89q.worldedit.event.platform.PlatformsRegisteredEvent;
+import com.sk89q.worldedit.extension.platform.Capability;
+import com.sk89q.worldedit.extension.platform.Platform;
+import com.sk89q.worldedit.extension.platform.Preference;
+import com.sk89q.worldedit.world.registry.BundledRegistries;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Plateforme WorldEdit factice, sans serveur.
+ * Les registres de blocs fournis avec WorldEdit suffisent à initialiser {@code BlockTypes}
+ * et donc les distributions de blocs des mines.
+ */
+public final class BenchmarkPlatform {
+    private static boolean registered;
+
+    private BenchmarkPlatform() {
+    }
+
+    /**
+     * Enregistre la plateforme factice une seule fois par JVM.
+     */
+    public static synchronized void register() {
+        if (registered) {
+            return;
+        }
+
+        Map<Capability, Preference> capabilities = new EnumMap<>(Capability.class);
+        for (Capability capability : Capability.values()) {
+            capabilities.put(capability, Preference.PREFERRED);
+        }
+
+        Platform platform = mock(Platform.class);
+        when(platform.getRegistries()).thenReturn(new BundledRegistries() {
+        });
+        when(platform.getCapabilities()).thenReturn(capabilities);
+
+        WorldEdit.getInstance().getPlatformManager().register(platform);
+        WorldEdit.getInstance().getEventBus().post(new PlatformsRegisteredEvent());
+        registered = true;
+    }
+}
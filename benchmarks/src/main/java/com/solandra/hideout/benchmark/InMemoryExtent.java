@@ -0,0 +1,43 @@
+package com.solandra.hideout.benchmark;
+
+import com.sk89q.worldedit.extent.AbstractDelegateExtent;
+import com.sk89q.worldedit.extent.NullExtent;
+import com.sk89q.worldedit.world.block.BlockStateHolder;
+import com.solandra.hideout.utils.CuboidBounds;
+
+/**
+ * Extent en mémoire remplaçant une EditSession dans les benchmarks.
+ * Les blocs sont rangés dans un tableau préalloué : une écriture n'alloue rien, seules les allocations
+ * du code mesuré apparaissent dans les résultats du profileur gc.
+ */
+public final class InMemoryExtent extends AbstractDelegateExtent {
+    private final CuboidBounds bounds;
+    private final BlockStateHolder<?>[] blocks;
+
+    public InMemoryExtent(CuboidBounds bounds) {
+        super(new NullExtent());
+        this.bounds = bounds;
+        this.blocks = new BlockStateHolder<?>[Math.toIntExact(bounds.getVolume())];
+    }
+
+    @Override
+    public <T extends BlockStateHolder<T>> boolean setBlock(int x, int y, int z, T block) {
+        if (!bounds.contains(x, y, z)) {
+            return false;
+        }
+
+        int index = ((y - bounds.getMinY()) * bounds.getSizeZ() + (z - bounds.getMinZ())) * bounds.getSizeX() + (x - bounds.getMinX());
+        blocks[index] = block;
+        return true;
+    }
+
+    /**
+     * Retourne le bloc écrit à un index local, pour que le JIT ne puisse pas supprimer les écritures.
+     *
+     * @param index L'index local.
+     * @return Le bloc écrit, ou null.
+     */
+    public BlockStateHolder<?> getBlock(int index) {
+        return blocks[index];
+    }
+}
@@ -0,0 +1,67 @@
+package com.solandra.hideout.benchmark;
+
+import com.sk89q.worldedit.world.block.BlockState;
+import com.sk89q.worldedit.world.block.BlockType;
+import com.solandra.hideout.manager.MineBlockDistribution;
+import com.solandra.hideout.manager.MineBlockSampler;
+import com.solandra.hideout.manager.MineBlockTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût de préparation des distributions de blocs : calcul de la distribution d'un niveau,
+ * compilation en table, et tirage d'un bloc.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MineDistributionBenchmark {
+
+    @Param({"1", "5", "10", "25", "51"})
+    public int distributionLevel;
+
+    private MineBlockDistribution distribution;
+    private Map<BlockType, Double> levelDistribution;
+    private MineBlockSampler sampler;
+
+    @Setup
+    public void setup() {
+        BenchmarkPlatform.register();
+
+        distribution = new MineBlockDistribution();
+        distribution.reload(null);
+        levelDistribution = distribution.getBlockDistributionForLevel(distributionLevel);
+        sampler = distribution.getTable(distributionLevel).getSampler();
+    }
+
+    @Benchmark
+    public Map<BlockType, Double> distributionForLevel() {
+        return distribution.getBlockDistributionForLevel(distributionLevel);
+    }
+
+    @Benchmark
+    public MineBlockTable compileTable() {
+        return MineBlockTable.of(levelDistribution);
+    }
+
+    @Benchmark
+    public BlockState sample() {
+        return sampler.sample(ThreadLocalRandom.current());
+    }
+}
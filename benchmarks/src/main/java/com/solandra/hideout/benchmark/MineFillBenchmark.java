@@ -0,0 +1,135 @@
+package com.solandra.hideout.benchmark;
+
+import com.sk89q.worldedit.extent.Extent;
+import com.sk89q.worldedit.extent.NullExtent;
+import com.sk89q.worldedit.world.block.BlockState;
+import com.sk89q.worldedit.world.block.BlockTypes;
+import com.solandra.hideout.manager.MineBlockDistribution;
+import com.solandra.hideout.manager.MineBlockSampler;
+import com.solandra.hideout.manager.MineFiller;
+import com.solandra.hideout.utils.CuboidBounds;
+import com.solandra.hideout.utils.CuboidSlicer;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parcours des positions et boucle d'écriture d'un remplissage de mine, pour chaque taille de mine
+ * du niveau 0 au niveau maximal. Les parcours passent par {@link MineFiller} vers un extent vide, avec un seul bloc
+ * possible ; les écritures se font dans un {@link InMemoryExtent}, d'un seul tenant ou par tranches comme
+ * dans la file de réinitialisation.
+ * Le compteur secondaire « blocks » donne le débit en blocs par seconde.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4G")
+@State(Scope.Thread)
+public class MineFillBenchmark {
+    private static final int DISTRIBUTION_LEVEL = 1;
+    private static final double MINED_RATIO = 0.6;
+    private static final long POSITIONS_SEED = 42L;
+    private static final long SLICE_BLOCKS = 100_000L; // Valeur par défaut de Mine_Reset.Blocks_Per_Tick
+
+    @Param({"0", "1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12", "13", "14", "15"})
+    public int mineLevel;
+
+    private CuboidBounds bounds;
+    private InMemoryExtent extent;
+    private Extent emptyExtent;
+    private MineBlockSampler sampler;
+    private MineBlockSampler singleBlockSampler;
+    private BitSet minedPositions;
+
+    @Setup
+    public void setup() {
+        BenchmarkPlatform.register();
+
+        bounds = MineSizes.boundsForLevel(Math.min(mineLevel, MineSizes.MAX_LEVEL));
+        extent = new InMemoryExtent(bounds);
+        MineBlockDistribution distribution = new MineBlockDistribution();
+        distribution.reload(null);
+        sampler = distribution.getTable(DISTRIBUTION_LEVEL).getSampler();
+
+        // Extent et distribution les moins coûteux possibles : seul le parcours des positions est mesuré
+        emptyExtent = new NullExtent();
+        singleBlockSampler = MineBlockSampler.of(new BlockState[]{BlockTypes.STONE.getDefaultState()}, new double[]{1});
+
+        // Environ 60 % de la mine cassée, le seuil par défaut de réinitialisation automatique
+        Random random = new Random(POSITIONS_SEED);
+        int volume = Math.toIntExact(bounds.getVolume());
+        minedPositions = new BitSet(volume);
+        for (int index = 0; index < volume; index++) {
+            if (random.nextDouble() < MINED_RATIO) {
+                minedPositions.set(index);
+            }
+        }
+    }
+
+    @Benchmark
+    public long iterateBounds(BlockCounter counter) {
+        MineFiller.fill(emptyExtent, bounds, singleBlockSampler, ThreadLocalRandom.current());
+        counter.blocks += bounds.getVolume();
+        return bounds.getVolume();
+    }
+
+    @Benchmark
+    public long iterateMinedPositions(BlockCounter counter) {
+        MineFiller.fillPositions(emptyExtent, bounds, minedPositions, singleBlockSampler, ThreadLocalRandom.current());
+        int blocks = minedPositions.cardinality();
+        counter.blocks += blocks;
+        return blocks;
+    }
+
+    @Benchmark
+    public Object fill(BlockCounter counter) {
+        counter.blocks += MineFiller.fill(extent, bounds, sampler, ThreadLocalRandom.current());
+        return extent.getBlock(0);
+    }
+
+    @Benchmark
+    public Object fillInSlices(BlockCounter counter) {
+        CuboidSlicer slicer = new CuboidSlicer(List.of(bounds));
+        for (CuboidBounds slice = slicer.next(SLICE_BLOCKS); slice != null; slice = slicer.next(SLICE_BLOCKS)) {
+            counter.blocks += MineFiller.fill(extent, slice, sampler, ThreadLocalRandom.current());
+        }
+        return extent.getBlock(0);
+    }
+
+    @Benchmark
+    public Object fillMinedPositions(BlockCounter counter) {
+        counter.blocks += MineFiller.fillPositions(extent, bounds, minedPositions, sampler, ThreadLocalRandom.current());
+        return extent.getBlock(minedPositions.nextSetBit(0));
+    }
+
+    /**
+     * Nombre de blocs traités, rapporté par JMH en blocs par seconde.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class BlockCounter {
+        public long blocks;
+
+        @Setup(Level.Iteration)
+        public void clean() {
+            blocks = 0;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.solandra.hideout.benchmark;
+
+import com.solandra.hideout.manager.MineManager;
+import com.solandra.hideout.manager.builder.HideoutBuilder;
+import com.solandra.hideout.utils.CuboidBounds;
+
+/**
+ * Dimensions des mines par niveau, calculées à partir des constantes du plugin : taille de la mine
+ * d'un nouveau hideout dans HideoutBuilder, croissance par amélioration et niveau maximal dans MineManager.
+ */
+public final class MineSizes {
+    public static final int MAX_LEVEL = MineManager.MAX_LEVEL;
+
+    private MineSizes() {
+    }
+
+    /**
+     * Retourne les bornes d'une mine du niveau donné, avec son coin minimal à l'origine.
+     *
+     * @param level Le niveau de la mine.
+     * @return Les bornes de la mine.
+     */
+    public static CuboidBounds boundsForLevel(int level) {
+        int sizeX = HideoutBuilder.MINE_BASE_SIZE_X + MineManager.UPGRADE_GROWTH_X * level;
+        int sizeZ = HideoutBuilder.MINE_BASE_SIZE_Z + MineManager.UPGRADE_GROWTH_Z * level;
+        return new CuboidBounds(0, 0, 0, sizeX - 1, HideoutBuilder.MINE_BASE_SIZE_Y - 1, sizeZ - 1);
+    }
+}
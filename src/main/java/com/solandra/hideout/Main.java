@@ -3,11 +3,17 @@ package com.solandra.hideout;
 import com.solandra.hideout.api.HideoutAPI;
 import com.solandra.hideout.api.MineAPI;
 import com.solandra.hideout.database.HideoutDatabase;
+import com.solandra.hideout.manager.EditSessionExecutor;
+import com.solandra.hideout.manager.GangPrestigeCache;
 import com.solandra.hideout.manager.HideoutManager;
+import com.solandra.hideout.manager.HideoutWarmPool;
 import com.solandra.hideout.manager.MineManager;
+import com.solandra.hideout.manager.SchematicCache;
+import com.solandra.hideout.manager.UUIDResolver;
 import com.solandra.hideout.bootstrap.PluginInitializer;
 import com.solandra.hideout.bootstrap.StartupLogoLoader;
 import com.solandra.hideout.bootstrap.DatabaseHandler;
+import com.solandra.hideout.bootstrap.TaskHandler;
 import com.solandra.prisoncore.api.PlayerAPI;
 import org.mineacademy.fo.plugin.SimplePlugin;
 
@@ -20,6 +26,11 @@ public class Main extends SimplePlugin {
     private HideoutDatabase hideoutDatabase;
     private HideoutManager hideoutManager;
     private MineManager mineManager;
+    private EditSessionExecutor editSessionExecutor;
+    private GangPrestigeCache gangPrestigeCache;
+    private SchematicCache schematicCache;
+    private HideoutWarmPool hideoutWarmPool;
+    private UUIDResolver uuidResolver;
 
     @Override
     protected void onPluginLoad() {
@@ -29,11 +40,23 @@ public class Main extends SimplePlugin {
     @Override
     protected void onPluginStart() {
         PluginInitializer.initializeAPI();
+        PluginInitializer.initializeUUIDResolver();
+        PluginInitializer.initializeEditExecutor();
+        PluginInitializer.initializeMineDistributions();
+        PluginInitializer.initializeHideouts();
         PluginInitializer.initializeListeners();
+        PluginInitializer.initializeTasks();
+    }
+
+    @Override
+    protected void onPluginReload() {
+        PluginInitializer.initializeMineDistributions();
+        PluginInitializer.initializeTasks();
     }
 
     @Override
     protected void onPluginStop() {
+        TaskHandler.cleanupTasks();
         DatabaseHandler.cleanupPlugin();
     }
 
@@ -74,6 +97,46 @@ public class Main extends SimplePlugin {
         this.mineManager = mineManager;
     }
 
+    public EditSessionExecutor getEditSessionExecutor() {
+        return editSessionExecutor;
+    }
+
+    public void setEditSessionExecutor(EditSessionExecutor editSessionExecutor) {
+        this.editSessionExecutor = editSessionExecutor;
+    }
+
+    public GangPrestigeCache getGangPrestigeCache() {
+        return gangPrestigeCache;
+    }
+
+    public void setGangPrestigeCache(GangPrestigeCache gangPrestigeCache) {
+        this.gangPrestigeCache = gangPrestigeCache;
+    }
+
+    public SchematicCache getSchematicCache() {
+        return schematicCache;
+    }
+
+    public void setSchematicCache(SchematicCache schematicCache) {
+        this.schematicCache = schematicCache;
+    }
+
+    public HideoutWarmPool getHideoutWarmPool() {
+        return hideoutWarmPool;
+    }
+
+    public void setHideoutWarmPool(HideoutWarmPool hideoutWarmPool) {
+        this.hideoutWarmPool = hideoutWarmPool;
+    }
+
+    public UUIDResolver getUUIDResolver() {
+        return uuidResolver;
+    }
+
+    public void setUUIDResolver(UUIDResolver uuidResolver) {
+        this.uuidResolver = uuidResolver;
+    }
+
     public static HideoutAPI getHideoutAPI() {
         return hideoutAPI;
     }
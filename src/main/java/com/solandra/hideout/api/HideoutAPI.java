@@ -43,6 +43,22 @@ public interface HideoutAPI {
      */
     Optional<Hideout> getHideoutById(int id);
 
+    /**
+     * Récupère un hideout par l'identifiant du gang propriétaire, en le chargeant s'il n'est pas en mémoire.
+     *
+     * @param gangOwnerId L'identifiant du gang.
+     * @return Un CompletableFuture contenant un Optional avec le hideout s'il est trouvé.
+     */
+    CompletableFuture<Optional<Hideout>> loadHideoutByGangOwnerId(int gangOwnerId);
+
+    /**
+     * Récupère un hideout par son identifiant, en le chargeant s'il n'est pas en mémoire.
+     *
+     * @param id L'identifiant du hideout.
+     * @return Un CompletableFuture contenant un Optional avec le hideout s'il est trouvé.
+     */
+    CompletableFuture<Optional<Hideout>> loadHideoutById(int id);
+
     /**
      * Ajoute un nouveau hideout.
      *
@@ -51,6 +67,14 @@ public interface HideoutAPI {
      */
     CompletableFuture<Hideout> addHideout(Hideout hideout);
 
+    /**
+     * Ajoute plusieurs nouveaux hideouts en une seule transaction.
+     *
+     * @param hideouts Les hideouts à ajouter.
+     * @return Un CompletableFuture contenant les hideouts ajoutés, dans le même ordre.
+     */
+    CompletableFuture<List<Hideout>> addHideouts(List<Hideout> hideouts);
+
     /**
      * Met à jour un hideout existant.
      *
@@ -74,7 +98,7 @@ public interface HideoutAPI {
     CompletableFuture<Void> placeSchematicAtRegion(Region region);
 
     /**
-     * Calcule un nouveau Hideout.
+     * Calcule un nouveau Hideout. L'emplacement retourné est réservé et ne sera pas attribué à un autre hideout.
      *
      * @return Un CompletableFuture contenant le nouveau Hideout.
      */
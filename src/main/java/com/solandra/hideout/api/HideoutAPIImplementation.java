@@ -45,11 +45,26 @@ public class HideoutAPIImplementation implements HideoutAPI {
         return hideoutManager.getHideoutById(id);
     }
 
+    @Override
+    public CompletableFuture<Optional<Hideout>> loadHideoutByGangOwnerId(int gangOwnerId) {
+        return hideoutManager.loadHideoutByGangOwnerId(gangOwnerId);
+    }
+
+    @Override
+    public CompletableFuture<Optional<Hideout>> loadHideoutById(int id) {
+        return hideoutManager.loadHideoutById(id);
+    }
+
     @Override
     public CompletableFuture<Hideout> addHideout(Hideout hideout) {
         return hideoutManager.addHideout(hideout);
     }
 
+    @Override
+    public CompletableFuture<List<Hideout>> addHideouts(List<Hideout> hideouts) {
+        return hideoutManager.addHideouts(hideouts);
+    }
+
     @Override
     public void updateHideout(Hideout hideout) {
         hideoutManager.updateHideout(hideout);
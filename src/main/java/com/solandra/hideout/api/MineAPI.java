@@ -25,8 +25,9 @@ public interface MineAPI {
      * Réinitialise la mine et remet son niveau à zéro.
      *
      * @param hideout Le hideout contenant la mine.
+     * @return Un CompletableFuture complété une fois la mine réinitialisée.
      */
-    void resetMine(Hideout hideout);
+    CompletableFuture<Void> resetMine(Hideout hideout);
 
     /**
      * Remplit la région de la mine avec des blocs en fonction du niveau de la mine.
@@ -36,6 +37,15 @@ public interface MineAPI {
      */
     CompletableFuture<Void> fillWithBlocks(Hideout hideout);
 
+    /**
+     * Remplit uniquement les blocs cassés depuis le dernier remplissage complet de la mine,
+     * ou toute la mine si ce suivi n'est pas disponible.
+     *
+     * @param hideout Le hideout contenant la mine.
+     * @return Un CompletableFuture indiquant la fin de l'opération de remplissage.
+     */
+    CompletableFuture<Void> refillMinedBlocks(Hideout hideout);
+
     /**
      * Retourne la région associée à cette mine.
      *
@@ -29,8 +29,8 @@ public class MineAPIImplementation implements MineAPI {
     }
 
     @Override
-    public void resetMine(Hideout hideout) {
-        mineManager.resetMine(hideout);
+    public CompletableFuture<Void> resetMine(Hideout hideout) {
+        return mineManager.resetMine(hideout);
     }
 
     @Override
@@ -38,6 +38,11 @@ public class MineAPIImplementation implements MineAPI {
         return mineManager.fillWithBlocks(hideout);
     }
 
+    @Override
+    public CompletableFuture<Void> refillMinedBlocks(Hideout hideout) {
+        return mineManager.refillMinedBlocks(hideout);
+    }
+
     @Override
     public Region getMineRegion(Hideout hideout) {
         return hideout.getMine().getRegion();
@@ -7,7 +7,7 @@ public class DatabaseHandler {
     public static void cleanupPlugin() {
         if (Main.getInstance().getHideoutDatabase().isLoaded()) {
             SystemPrint.debugDB("Déconnexion de la base de donnees.");
-            Main.getInstance().getHideoutDatabase().close();
+            Main.getInstance().getHideoutDatabase().shutdown();
         }
     }
 }
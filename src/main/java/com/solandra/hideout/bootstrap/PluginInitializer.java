@@ -4,16 +4,29 @@ import com.solandra.hideout.Main;
 import com.solandra.hideout.api.HideoutAPIImplementation;
 import com.solandra.hideout.api.MineAPIImplementation;
 import com.solandra.hideout.database.HideoutDatabase;
+import com.solandra.hideout.listeners.GangPrestigeListener;
+import com.solandra.hideout.listeners.MineListener;
+import com.solandra.hideout.listeners.PlayerConnectionListener;
+import com.solandra.hideout.manager.EditSessionExecutor;
+import com.solandra.hideout.manager.GangPrestigeCache;
 import com.solandra.hideout.manager.HideoutManager;
+import com.solandra.hideout.manager.HideoutWarmPool;
 import com.solandra.hideout.manager.MineManager;
+import com.solandra.hideout.manager.SchematicCache;
+import com.solandra.hideout.manager.UUIDResolver;
+import com.solandra.hideout.settings.Settings;
 import com.solandra.prisoncore.Core;
+import org.bukkit.Bukkit;
 
 public class PluginInitializer {
     public static void initializeFields() {
         Main.getInstance().setPlayerAPI(Core.getPlayerAPI());
         Main.getInstance().setHideoutDatabase(new HideoutDatabase());
+        Main.getInstance().setGangPrestigeCache(new GangPrestigeCache());
+        Main.getInstance().setSchematicCache(new SchematicCache());
         Main.getInstance().setHideoutManager(new HideoutManager());
         Main.getInstance().setMineManager(new MineManager());
+        Main.getInstance().setHideoutWarmPool(new HideoutWarmPool());
     }
 
     public static void initializeAPI() {
@@ -21,7 +34,38 @@ public class PluginInitializer {
         Main.setMineAPI(new MineAPIImplementation(Main.getInstance()));
     }
 
+    public static void initializeUUIDResolver() {
+        UUIDResolver uuidResolver = new UUIDResolver();
+        uuidResolver.load();
+        Main.getInstance().setUUIDResolver(uuidResolver);
+    }
+
+    public static void initializeEditExecutor() {
+        Main.getInstance().setEditSessionExecutor(new EditSessionExecutor(
+                Settings.EditExecutor.CONCURRENT_EDITS,
+                Settings.EditExecutor.QUEUE_CAPACITY));
+    }
+
+    public static void initializeHideouts() {
+        Main.getInstance().getHideoutDatabase().migrateSchema();
+        Main.getInstance().getSchematicCache().preload();
+        Main.getInstance().getHideoutManager().loadHideouts();
+    }
+
     public static void initializeListeners() {
-        // Add listeners initialization here
+        Bukkit.getPluginManager().registerEvents(new MineListener(Main.getInstance()), Main.getInstance());
+        Bukkit.getPluginManager().registerEvents(new PlayerConnectionListener(Main.getInstance()), Main.getInstance());
+        Bukkit.getPluginManager().registerEvents(new GangPrestigeListener(Main.getInstance()), Main.getInstance());
+    }
+
+    public static void initializeMineDistributions() {
+        Main.getInstance().getMineManager().getBlockDistribution().reload();
+        Main.getInstance().getMineManager().getTemplateCache().clear();
+    }
+
+    public static void initializeTasks() {
+        Main.getInstance().getHideoutDatabase().startWriteBehind();
+        Main.getInstance().getMineManager().getResetScheduler().start();
+        Main.getInstance().getHideoutWarmPool().start();
     }
 }
\ No newline at end of file
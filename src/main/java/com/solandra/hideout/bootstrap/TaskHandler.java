@@ -0,0 +1,23 @@
+package com.solandra.hideout.bootstrap;
+
+import com.solandra.hideout.Main;
+
+public class TaskHandler {
+    public static void cleanupTasks() {
+        Main.getInstance().getMineManager().getResetScheduler().stop();
+        Main.getInstance().getHideoutWarmPool().stop();
+        Main.getInstance().getMineManager().getTemplateCache().shutdown();
+
+        if (Main.getInstance().getUUIDResolver() != null) {
+            Main.getInstance().getUUIDResolver().shutdown();
+        }
+
+        if (Main.getInstance().getEditSessionExecutor() != null) {
+            Main.getInstance().getEditSessionExecutor().shutdown();
+        }
+
+        if (Main.getInstance().getSchematicCache() != null) {
+            Main.getInstance().getSchematicCache().clear();
+        }
+    }
+}
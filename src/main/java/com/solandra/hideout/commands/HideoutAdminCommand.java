@@ -1,18 +1,25 @@
 package com.solandra.hideout.commands;
 
 import com.solandra.hideout.Main;
+import com.solandra.hideout.manager.EditSessionExecutor;
 import com.solandra.hideout.manager.HideoutManager;
+import com.solandra.hideout.manager.MineManager;
+import com.solandra.hideout.manager.MineResetScheduler;
 import com.solandra.hideout.menu.HideoutMenu;
-import com.solandra.hideout.utils.MojangAPI;
+import com.solandra.hideout.model.Hideout;
 import net.brcdev.gangs.GangsPlugin;
 import net.brcdev.gangs.gang.Gang;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.mineacademy.fo.Common;
+import org.mineacademy.fo.FileUtil;
 import org.mineacademy.fo.PlayerUtil;
 import org.mineacademy.fo.Valid;
 import org.mineacademy.fo.command.SimpleCommand;
 
+import java.io.File;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -23,20 +30,35 @@ import java.util.UUID;
 public class HideoutAdminCommand extends SimpleCommand {
 
     // Constantes pour les messages et sous-commandes
-    private static final String NO_SUBCOMMAND_MESSAGE = "Veuillez spécifier une sous-commande : list, teleport <id>.";
-    private static final String UNKNOWN_SUBCOMMAND_MESSAGE = "Sous-commande inconnue. Utilisez : list, teleport <id>.";
+    private static final String NO_SUBCOMMAND_MESSAGE = "Veuillez spécifier une sous-commande : list, teleport <id>, show <player|id>, here, queue, reload, export.";
+    private static final String UNKNOWN_SUBCOMMAND_MESSAGE = "Sous-commande inconnue. Utilisez : list, teleport <id>, show <player|id>, here, queue, reload, export.";
     private static final String NO_HIDEOUT_ID_MESSAGE = "Veuillez spécifier l'ID du hideout. Utilisation: /hideout teleport <id>";
     private static final String INVALID_HIDEOUT_ID_MESSAGE = "L'ID du hideout doit être un nombre entier.";
     private static final String HIDEOUT_NOT_FOUND_MESSAGE = "&cAucun hideout trouvé pour l'ID: ";
     private static final String NO_PLAYER_OR_ID_MESSAGE = "Veuillez spécifier un joueur ou un ID de hideout. Utilisation: /hoa show <player|id>";
     private static final String PLAYER_NOT_FOUND_MESSAGE = "Le joueur %s n'existe pas.";
+    private static final String PLAYER_LOOKUP_FAILED_MESSAGE = "Impossible de rechercher le joueur %s : le service de profils est indisponible, réessayez plus tard.";
     private static final String PLAYER_NOT_IN_GANG_MESSAGE = "Le joueur %s n'appartient à aucun gang.";
     private static final String NO_HIDEOUT_FOUND_FOR_PLAYER_MESSAGE = "&cAucun hideout trouvé pour le joueur: ";
+    private static final String RESET_QUEUE_HEADER_MESSAGE = "&6--- File de réinitialisation des mines ---";
+    private static final String RESET_QUEUE_DEPTH_MESSAGE = "&eEn attente: &f%d";
+    private static final String RESET_QUEUE_WAIT_MESSAGE = "&eAttente (plus ancienne / moyenne / dernière): &f%d ms / %d ms / %d ms";
+    private static final String EDIT_QUEUE_MESSAGE = "&eÉditions en attente ou en cours: &f%d &7(places libres: %d)";
+    private static final String HERE_NO_HIDEOUT_MESSAGE = "&cVous n'êtes dans aucun hideout.";
+    private static final String HERE_HIDEOUT_MESSAGE = "&eHideout: &f%d &7(gang: %d)";
+    private static final String HERE_MINE_MESSAGE = "&eDans la mine: &f%s &7(niveau %d)";
+    private static final String EXPORT_STARTED_MESSAGE = "&eExport des hideouts en cours...";
+    private static final String EXPORT_SUCCESS_MESSAGE = "&a%d hideouts exportés dans &f%s&a.";
+    private static final String EXPORT_FAILED_MESSAGE = "&cL'export des hideouts a échoué : %s";
+    private static final String EXPORT_DIRECTORY = "exports";
+    private static final DateTimeFormatter EXPORT_FILE_DATE = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final String RELOAD_SUCCESS_MESSAGE = "&aLa configuration et les distributions de blocs ont été rechargées.";
     private static final String HIDEOUT_ADMIN_PERMISSION = "solandra.hideout.admin";
 
     // Fields
     private final Main plugin = Main.getInstance();
     private final HideoutManager hideoutManager = Main.getInstance().getHideoutManager();
+    private final MineManager mineManager = Main.getInstance().getMineManager();
 
     /**
      * Constructeur de la commande HideoutAdminCommand.
@@ -72,6 +94,18 @@ public class HideoutAdminCommand extends SimpleCommand {
             case "teleport":
                 handleTeleportCommand(executor);
                 break;
+            case "here":
+                handleHereCommand(executor);
+                break;
+            case "queue":
+                handleQueueCommand();
+                break;
+            case "reload":
+                handleReloadCommand();
+                break;
+            case "export":
+                handleExportCommand();
+                break;
             default:
                 this.tellError(UNKNOWN_SUBCOMMAND_MESSAGE);
                 break;
@@ -86,7 +120,7 @@ public class HideoutAdminCommand extends SimpleCommand {
     @Override
     protected List<String> tabComplete() {
         if (args.length == 1) {
-            return completeLastWord("list", "teleport", "show");
+            return completeLastWord("list", "teleport", "show", "here", "queue", "reload", "export");
         }
 
         if (args.length == 2) {
@@ -128,6 +162,66 @@ public class HideoutAdminCommand extends SimpleCommand {
         });
     }
 
+    /**
+     * Gère l'exécution de la sous-commande "here".
+     *
+     * @param executor Le joueur qui exécute la commande.
+     */
+    private void handleHereCommand(Player executor) {
+        Hideout hideout = hideoutManager.getSpatialIndex().getHideoutAt(executor.getLocation());
+        if (hideout == null) {
+            this.tellError(HERE_NO_HIDEOUT_MESSAGE);
+            return;
+        }
+
+        boolean inMine = hideoutManager.getSpatialIndex().getHideoutWithMineAt(executor.getLocation()) == hideout;
+        this.tell(String.format(HERE_HIDEOUT_MESSAGE, hideout.getId(), hideout.getGangOwnerId()));
+        this.tell(String.format(HERE_MINE_MESSAGE, inMine ? "oui" : "non", hideout.getMine().getLevel()));
+    }
+
+    /**
+     * Gère l'exécution de la sous-commande "queue".
+     */
+    private void handleQueueCommand() {
+        MineResetScheduler resetScheduler = mineManager.getResetScheduler();
+        EditSessionExecutor editExecutor = plugin.getEditSessionExecutor();
+
+        this.tell(RESET_QUEUE_HEADER_MESSAGE);
+        this.tell(String.format(RESET_QUEUE_DEPTH_MESSAGE, resetScheduler.getQueueDepth()));
+        this.tell(String.format(RESET_QUEUE_WAIT_MESSAGE,
+                resetScheduler.getOldestWaitMillis(),
+                resetScheduler.getAverageWaitMillis(),
+                resetScheduler.getLastWaitMillis()));
+        this.tell(String.format(EDIT_QUEUE_MESSAGE, editExecutor.getPendingEdits(), editExecutor.getAvailableCapacity()));
+    }
+
+    /**
+     * Gère l'exécution de la sous-commande "reload".
+     */
+    private void handleReloadCommand() {
+        plugin.reload();
+        this.tell(RELOAD_SUCCESS_MESSAGE);
+    }
+
+    /**
+     * Gère l'exécution de la sous-commande "export" : écrit un instantané binaire de tous les hideouts.
+     */
+    private void handleExportCommand() {
+        File file = FileUtil.getFile(EXPORT_DIRECTORY + "/hideouts-" + LocalDateTime.now().format(EXPORT_FILE_DATE) + ".bin");
+        file.getParentFile().mkdirs();
+
+        this.tell(EXPORT_STARTED_MESSAGE);
+        plugin.getHideoutDatabase().exportSnapshot(file).whenComplete((count, throwable) -> {
+            if (throwable != null) {
+                Throwable cause = throwable.getCause() != null ? throwable.getCause() : throwable;
+                this.tellError(String.format(EXPORT_FAILED_MESSAGE, cause.getMessage()));
+                Common.throwError(cause, "Erreur lors de l'export des hideouts vers " + file.getPath());
+            } else {
+                this.tell(String.format(EXPORT_SUCCESS_MESSAGE, count, EXPORT_DIRECTORY + "/" + file.getName()));
+            }
+        });
+    }
+
     /**
      * Gère l'exécution de la sous-commande "show".
      *
@@ -164,10 +258,10 @@ public class HideoutAdminCommand extends SimpleCommand {
         }
 
         int hideoutId = Integer.parseInt(args[1]);
-        hideoutManager.getHideoutById(hideoutId).ifPresentOrElse(
+        hideoutManager.loadHideoutById(hideoutId).thenAccept(optionalHideout -> optionalHideout.ifPresentOrElse(
                 hideout -> Common.runLater(() -> executor.teleport(hideout.getSpawnLocation())),
-                () -> returnTell(HIDEOUT_NOT_FOUND_MESSAGE + hideoutId)
-        );
+                () -> this.tellError(HIDEOUT_NOT_FOUND_MESSAGE + hideoutId)
+        ));
     }
 
     /**
@@ -177,10 +271,10 @@ public class HideoutAdminCommand extends SimpleCommand {
      * @param hideoutId L'identifiant du hideout.
      */
     private void showHideoutById(Player executor, int hideoutId) {
-        hideoutManager.getHideoutById(hideoutId).ifPresentOrElse(
-                hideout -> new HideoutMenu(hideout, plugin).displayTo(executor),
-                () -> returnTell(HIDEOUT_NOT_FOUND_MESSAGE + hideoutId)
-        );
+        hideoutManager.loadHideoutById(hideoutId).thenAccept(optionalHideout -> optionalHideout.ifPresentOrElse(
+                hideout -> Common.runLater(() -> new HideoutMenu(hideout, plugin).displayTo(executor)),
+                () -> this.tellError(HIDEOUT_NOT_FOUND_MESSAGE + hideoutId)
+        ));
     }
 
     /**
@@ -191,27 +285,41 @@ public class HideoutAdminCommand extends SimpleCommand {
      */
     private void showHideoutByPlayer(Player executor, String playerName) {
         Player targetPlayer = PlayerUtil.getPlayerByNick(playerName, true);
+        if (targetPlayer != null) {
+            showHideoutByPlayerUUID(executor, playerName, targetPlayer.getUniqueId());
+            return;
+        }
 
-        UUID targetUUID;
-        if (targetPlayer == null) {
-            targetUUID = MojangAPI.getUUID(playerName);
-            if (targetUUID == null) {
-                this.tellError(String.format(PLAYER_NOT_FOUND_MESSAGE, playerName));
+        plugin.getUUIDResolver().resolve(playerName).whenComplete((targetUUID, throwable) -> Common.runLater(() -> {
+            if (throwable != null) {
+                this.tellError(String.format(PLAYER_LOOKUP_FAILED_MESSAGE, playerName));
                 return;
             }
-        } else {
-            targetUUID = targetPlayer.getUniqueId();
-        }
 
+            targetUUID.ifPresentOrElse(
+                    uuid -> showHideoutByPlayerUUID(executor, playerName, uuid),
+                    () -> this.tellError(String.format(PLAYER_NOT_FOUND_MESSAGE, playerName))
+            );
+        }));
+    }
+
+    /**
+     * Affiche le hideout du gang d'un joueur dont l'UUID est connu.
+     *
+     * @param executor   Le joueur exécutant la commande.
+     * @param playerName Le nom du joueur recherché.
+     * @param targetUUID L'UUID du joueur recherché.
+     */
+    private void showHideoutByPlayerUUID(Player executor, String playerName, UUID targetUUID) {
         Gang gang = GangsPlugin.getInstance().getGangManager().getPlayersGang(Bukkit.getOfflinePlayer(targetUUID));
         if (gang == null) {
             this.tellError(String.format(PLAYER_NOT_IN_GANG_MESSAGE, playerName));
             return;
         }
 
-        hideoutManager.getHideoutByGangOwnerId(gang.getId()).ifPresentOrElse(
-                hideout -> new HideoutMenu(hideout, plugin).displayTo(executor),
-                () -> returnTell(NO_HIDEOUT_FOUND_FOR_PLAYER_MESSAGE + playerName)
-        );
+        hideoutManager.loadHideoutByGangOwnerId(gang.getId()).thenAccept(optionalHideout -> optionalHideout.ifPresentOrElse(
+                hideout -> Common.runLater(() -> new HideoutMenu(hideout, plugin).displayTo(executor)),
+                () -> this.tellError(NO_HIDEOUT_FOUND_FOR_PLAYER_MESSAGE + playerName)
+        ));
     }
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import com.solandra.hideout.menu.HideoutMenu;
 import net.brcdev.gangs.GangsPlusApi;
 import net.brcdev.gangs.gang.Gang;
 import org.bukkit.entity.Player;
+import org.mineacademy.fo.Common;
 import org.mineacademy.fo.annotation.AutoRegister;
 import org.mineacademy.fo.command.SimpleCommand;
 
@@ -55,9 +56,9 @@ public final class HideoutCommand extends SimpleCommand {
         Gang gang = GangsPlusApi.getPlayersGang(executor);
         int gangId = gang.getId();
 
-        hideoutManager.getHideoutByGangOwnerId(gangId).ifPresentOrElse(
-                hideout -> new HideoutMenu(hideout, plugin).displayTo(executor),
+        hideoutManager.loadHideoutByGangOwnerId(gangId).thenAccept(optionalHideout -> optionalHideout.ifPresentOrElse(
+                hideout -> Common.runLater(() -> new HideoutMenu(hideout, plugin).displayTo(executor)),
                 () -> tellError(HIDEOUT_NOT_FOUND_MESSAGE + gangId + ".")
-        );
+        ));
     }
 }
\ No newline at end of file
@@ -0,0 +1,276 @@
+package com.solandra.hideout.database;
+
+import com.solandra.hideout.model.Hideout;
+import com.solandra.hideout.model.Mine;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.mineacademy.fo.exception.FoException;
+import org.mineacademy.fo.region.Region;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Format binaire versionné des hideouts, utilisé pour les instantanés et les exports.
+ * <p>
+ * Un enregistrement contient l'identifiant et le gang propriétaire en varint, les coins des régions en entiers
+ * de largeur fixe, le niveau de la mine en varint et le point d'apparition en double et float.
+ * Les noms de mondes ne sont écrits qu'une fois, dans une table en tête de données, et chaque position
+ * y fait référence par son index. Ni JSON ni découpage de chaîne : lire un hideout ne crée que ses positions.
+ * <p>
+ * Un instantané commence par {@link #MAGIC}, puis la version du format, la table des mondes,
+ * le nombre de hideouts et leurs enregistrements.
+ */
+public final class HideoutCodec {
+    public static final int MAGIC = 0x53484453; // "SHDS"
+    public static final int FORMAT_VERSION = 1;
+
+    // Taille d'un hideout encodé seul : en-tête, un nom de monde court et une centaine d'octets de données
+    private static final int ESTIMATED_RECORD_SIZE = 128;
+
+    // Tailles minimales encodées, qui bornent les capacités réservées d'après les compteurs lus
+    private static final int MIN_WORLD_NAME_SIZE = 2;
+    private static final int MIN_RECORD_SIZE = 86;
+
+    private HideoutCodec() {
+    }
+
+    /**
+     * Encode un hideout seul, avec sa propre table des mondes.
+     *
+     * @param hideout Le hideout à encoder.
+     * @return Les octets encodés.
+     */
+    public static byte[] encode(Hideout hideout) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(ESTIMATED_RECORD_SIZE);
+        try {
+            writeSnapshot(bytes, List.of(hideout));
+        } catch (IOException exception) {
+            // Impossible avec un flux en mémoire
+            throw new FoException(exception, "Erreur lors de l'encodage du hideout " + hideout.getId() + ".");
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Décode un hideout encodé par {@link #encode(Hideout)}.
+     *
+     * @param data Les octets encodés.
+     * @return Le hideout décodé.
+     * @throws IOException Si les données sont tronquées, d'une version inconnue ou ne contiennent pas un seul hideout.
+     */
+    public static Hideout decode(byte[] data) throws IOException {
+        List<Hideout> hideouts = readSnapshot(new ByteArrayInputStream(data));
+        if (hideouts.size() != 1) {
+            throw new IOException("Un seul hideout attendu, " + hideouts.size() + " trouvés.");
+        }
+        return hideouts.get(0);
+    }
+
+    /**
+     * Écrit un instantané de plusieurs hideouts. Le flux n'est pas fermé.
+     *
+     * @param output   Le flux de sortie.
+     * @param hideouts Les hideouts à écrire.
+     * @throws IOException Si l'écriture échoue.
+     */
+    public static void writeSnapshot(OutputStream output, Collection<Hideout> hideouts) throws IOException {
+        Map<String, Integer> worldIndexes = new HashMap<>();
+        List<String> worldNames = new ArrayList<>();
+        for (Hideout hideout : hideouts) {
+            internWorld(worldIndexes, worldNames, hideout.getMainRegion().getPrimary());
+            internWorld(worldIndexes, worldNames, hideout.getMine().getRegion().getPrimary());
+            internWorld(worldIndexes, worldNames, hideout.getSpawnLocation());
+        }
+
+        DataOutputStream out = new DataOutputStream(output);
+        out.writeInt(MAGIC);
+        writeVarInt(out, FORMAT_VERSION);
+
+        writeVarInt(out, worldNames.size());
+        for (String worldName : worldNames) {
+            out.writeUTF(worldName);
+        }
+
+        writeVarInt(out, hideouts.size());
+        for (Hideout hideout : hideouts) {
+            writeHideout(out, worldIndexes, hideout);
+        }
+        out.flush();
+    }
+
+    /**
+     * Lit un instantané écrit par {@link #writeSnapshot(OutputStream, Collection)}. Le flux n'est pas fermé.
+     * Chaque nom de monde n'est résolu qu'une fois ; un monde non chargé donne des positions sans monde.
+     *
+     * @param input Le flux d'entrée.
+     * @return Les hideouts lus, dans l'ordre d'écriture.
+     * @throws IOException Si les données sont tronquées ou d'une version inconnue.
+     */
+    public static List<Hideout> readSnapshot(InputStream input) throws IOException {
+        return readSnapshot(input, Bukkit::getWorld);
+    }
+
+    /**
+     * Lit un instantané en résolvant les noms de mondes avec la fonction donnée.
+     *
+     * @param input         Le flux d'entrée.
+     * @param worldResolver La fonction retournant le monde d'un nom, ou null s'il n'est pas chargé.
+     * @return Les hideouts lus, dans l'ordre d'écriture.
+     * @throws IOException Si les données sont tronquées ou d'une version inconnue.
+     */
+    static List<Hideout> readSnapshot(InputStream input, Function<String, World> worldResolver) throws IOException {
+        DataInputStream in = new DataInputStream(input);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Les données ne sont pas un instantané de hideouts.");
+        }
+
+        int version = readVarInt(in);
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Version du format inconnue: " + version);
+        }
+
+        int worldCount = readCount(in);
+        List<World> worldList = new ArrayList<>(initialCapacity(in, worldCount, MIN_WORLD_NAME_SIZE));
+        for (int i = 0; i < worldCount; i++) {
+            worldList.add(worldResolver.apply(in.readUTF()));
+        }
+        World[] worlds = worldList.toArray(new World[0]);
+
+        int count = readCount(in);
+        List<Hideout> hideouts = new ArrayList<>(initialCapacity(in, count, MIN_RECORD_SIZE));
+        for (int i = 0; i < count; i++) {
+            hideouts.add(readHideout(in, worlds));
+        }
+        return hideouts;
+    }
+
+    // Méthodes privées
+
+    private static void writeHideout(DataOutput out, Map<String, Integer> worldIndexes, Hideout hideout) throws IOException {
+        Region mainRegion = hideout.getMainRegion();
+        Mine.State mineState = hideout.getMine().getState();
+        Location spawn = hideout.getSpawnLocation();
+
+        writeVarInt(out, hideout.getId());
+        writeVarInt(out, hideout.getGangOwnerId());
+        writeRegion(out, worldIndexes, mainRegion);
+        writeRegion(out, worldIndexes, mineState.getRegion());
+        writeVarInt(out, mineState.getLevel());
+
+        writeVarInt(out, worldIndexes.get(worldName(spawn)));
+        out.writeDouble(spawn.getX());
+        out.writeDouble(spawn.getY());
+        out.writeDouble(spawn.getZ());
+        out.writeFloat(spawn.getYaw());
+        out.writeFloat(spawn.getPitch());
+    }
+
+    private static Hideout readHideout(DataInput in, World[] worlds) throws IOException {
+        int id = readVarInt(in);
+        int gangOwnerId = readVarInt(in);
+        Region mainRegion = readRegion(in, worlds);
+        Region mineRegion = readRegion(in, worlds);
+        int mineLevel = readVarInt(in);
+
+        World spawnWorld = world(worlds, readVarInt(in));
+        Location spawn = new Location(spawnWorld, in.readDouble(), in.readDouble(), in.readDouble(), in.readFloat(), in.readFloat());
+
+        return new Hideout(id, mainRegion, new Mine(mineRegion, mineLevel), spawn, gangOwnerId);
+    }
+
+    /**
+     * Écrit une région : l'index de son monde puis ses deux coins en coordonnées de bloc.
+     */
+    private static void writeRegion(DataOutput out, Map<String, Integer> worldIndexes, Region region) throws IOException {
+        Location primary = region.getPrimary();
+        Location secondary = region.getSecondary();
+
+        writeVarInt(out, worldIndexes.get(worldName(primary)));
+        out.writeInt(primary.getBlockX());
+        out.writeInt(primary.getBlockY());
+        out.writeInt(primary.getBlockZ());
+        out.writeInt(secondary.getBlockX());
+        out.writeInt(secondary.getBlockY());
+        out.writeInt(secondary.getBlockZ());
+    }
+
+    private static Region readRegion(DataInput in, World[] worlds) throws IOException {
+        World world = world(worlds, readVarInt(in));
+        Location primary = new Location(world, in.readInt(), in.readInt(), in.readInt());
+        Location secondary = new Location(world, in.readInt(), in.readInt(), in.readInt());
+        return new Region(primary, secondary);
+    }
+
+    private static void internWorld(Map<String, Integer> worldIndexes, List<String> worldNames, Location location) {
+        worldIndexes.computeIfAbsent(worldName(location), name -> {
+            worldNames.add(name);
+            return worldNames.size() - 1;
+        });
+    }
+
+    private static String worldName(Location location) {
+        return Objects.requireNonNull(location.getWorld(), "Position sans monde").getName();
+    }
+
+    private static World world(World[] worlds, int index) throws IOException {
+        if (index < 0 || index >= worlds.length) {
+            throw new IOException("Index de monde invalide: " + index);
+        }
+        return worlds[index];
+    }
+
+    private static int readCount(DataInput in) throws IOException {
+        int count = readVarInt(in);
+        if (count < 0) {
+            throw new IOException("Nombre d'éléments invalide: " + count);
+        }
+        return count;
+    }
+
+    /**
+     * Borne la capacité réservée par ce que le flux peut encore contenir : un compteur corrompu
+     * ne doit pas allouer plus que les données présentes, la lecture échouant ensuite en fin de flux.
+     */
+    private static int initialCapacity(InputStream in, int count, int minElementSize) throws IOException {
+        return Math.min(count, Math.max(0, in.available()) / minElementSize);
+    }
+
+    /**
+     * Écrit un entier positif sur 1 à 5 octets, 7 bits par octet.
+     */
+    private static void writeVarInt(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte current = in.readByte();
+            value |= (current & 0x7F) << shift;
+            if ((current & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Varint trop long.");
+    }
+}
@@ -1,88 +1,411 @@
 package com.solandra.hideout.database;
 
 import com.solandra.hideout.model.Hideout;
+import com.solandra.hideout.model.HideoutIndexEntry;
 import com.solandra.hideout.model.Mine;
+import com.solandra.hideout.settings.Settings;
 import com.solandra.hideout.utils.LocationUtils;
+import org.bukkit.Bukkit;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.mineacademy.fo.Common;
 import org.mineacademy.fo.FileUtil;
 import org.mineacademy.fo.collection.SerializedMap;
 import org.mineacademy.fo.database.SimpleDatabase;
+import org.mineacademy.fo.exception.FoException;
 import org.mineacademy.fo.region.Region;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Gère la base de données des hideouts, utilisant SQLite pour stocker les informations.
  * Fournit des méthodes pour ajouter, mettre à jour, supprimer et récupérer des hideouts.
+ * Chaque coordonnée est stockée dans sa propre colonne typée : lire un hideout ne demande aucune analyse de texte.
+ * Le schéma est versionné avec {@code PRAGMA user_version}, et les anciennes lignes (régions et mine en JSON)
+ * sont converties une seule fois au démarrage. La colonne {@code built} distingue les hideouts enregistrés
+ * dont la construction (collage et remplissage) n'est pas encore terminée.
+ * Les mises à jour sont différées : les hideouts modifiés sont marqués, puis écrits périodiquement
+ * en une seule transaction, une seule fois chacun quel que soit le nombre de modifications.
+ * La base est ouverte en mode WAL : toutes les écritures passent dans l'ordre par un thread d'écriture unique
+ * sur la connexion principale, et les lectures sont servies par un petit pool de connexions en lecture seule,
+ * si bien qu'un chargement complet ou une requête d'administration ne bloque jamais les écritures.
  */
 public class HideoutDatabase extends SimpleDatabase {
+    static final int BUSY_TIMEOUT_MILLIS = 5000;
+    private static final int SCHEMA_VERSION = 3;
+    private static final String WRITER_THREAD_NAME = "SolandraHideout-DB-Write";
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+    private static final String TABLE = "hideouts";
+    private static final String LEGACY_COLUMN = "mainRegion";
+
+    private static final String SQL_CREATE_TABLE = "CREATE TABLE IF NOT EXISTS %s ("
+            + "id INTEGER PRIMARY KEY AUTOINCREMENT, "
+            + "gangOwnerId INTEGER NOT NULL DEFAULT 0, "
+            + "world TEXT NOT NULL, "
+            + "mainPrimaryX INTEGER NOT NULL, mainPrimaryY INTEGER NOT NULL, mainPrimaryZ INTEGER NOT NULL, "
+            + "mainSecondaryX INTEGER NOT NULL, mainSecondaryY INTEGER NOT NULL, mainSecondaryZ INTEGER NOT NULL, "
+            + "minePrimaryX INTEGER NOT NULL, minePrimaryY INTEGER NOT NULL, minePrimaryZ INTEGER NOT NULL, "
+            + "mineSecondaryX INTEGER NOT NULL, mineSecondaryY INTEGER NOT NULL, mineSecondaryZ INTEGER NOT NULL, "
+            + "mineLevel INTEGER NOT NULL DEFAULT 0, "
+            + "spawnX REAL NOT NULL, spawnY REAL NOT NULL, spawnZ REAL NOT NULL, "
+            + "spawnYaw REAL NOT NULL, spawnPitch REAL NOT NULL, "
+            + "built INTEGER NOT NULL DEFAULT 1)";
+    private static final String SQL_CREATE_OWNER_INDEX = "CREATE INDEX IF NOT EXISTS idx_hideouts_gangOwnerId ON hideouts (gangOwnerId)";
+
+    // Colonnes écrites pour un hideout, dans l'ordre de bindHideout
+    private static final String COLUMNS = "gangOwnerId, world, "
+            + "mainPrimaryX, mainPrimaryY, mainPrimaryZ, mainSecondaryX, mainSecondaryY, mainSecondaryZ, "
+            + "minePrimaryX, minePrimaryY, minePrimaryZ, mineSecondaryX, mineSecondaryY, mineSecondaryZ, "
+            + "mineLevel, spawnX, spawnY, spawnZ, spawnYaw, spawnPitch";
+    private static final int COLUMN_COUNT = 20;
+
+    private static final String SQL_INSERT_HIDEOUT = "INSERT INTO hideouts (" + COLUMNS + ", built) VALUES (" + placeholders(COLUMN_COUNT + 1) + ") RETURNING id";
+    private static final String SQL_INSERT_MIGRATED_HIDEOUT = "INSERT INTO hideouts_migration (id, " + COLUMNS + ") VALUES (" + placeholders(COLUMN_COUNT + 1) + ")";
+    private static final String SQL_UPDATE_HIDEOUT = "UPDATE hideouts SET " + COLUMNS.replace(",", " = ?,") + " = ? WHERE id = ?";
+
+    // Hideouts modifiés depuis la dernière écriture, par identifiant
+    private final ConcurrentMap<Integer, Hideout> dirtyHideouts = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService writer;
+    private final String url;
+    private PreparedStatement insertStatement;
+    private PreparedStatement updateStatement;
+    private ScheduledFuture<?> flushTask;
+    private ReadConnectionPool readPool;
 
     /**
      * Initialise la base de données des hideouts et établit une connexion à la base de données SQLite.
      */
     public HideoutDatabase() {
         File dataFile = FileUtil.getOrMakeFile("/database/hideout.db");
-        this.connect("jdbc:sqlite:" + dataFile.getPath());
+        this.url = "jdbc:sqlite:" + dataFile.getPath();
+        this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, WRITER_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.connect(url);
     }
 
+    /**
+     * Crée le schéma d'une base vide. Une base à l'ancien format est laissée telle quelle jusqu'à
+     * {@link #migrateSchema()}, qui a besoin des mondes chargés pour relire les anciennes positions.
+     */
     @Override
     protected void onConnected() {
-        createTable();
+        try {
+            execute("PRAGMA journal_mode = WAL");
+            execute("PRAGMA synchronous = NORMAL");
+            execute("PRAGMA busy_timeout = " + BUSY_TIMEOUT_MILLIS);
+            execute("PRAGMA temp_store = MEMORY");
+
+            int version = getSchemaVersion();
+            if (version < 2 && !hasLegacyTable()) {
+                execute(String.format(SQL_CREATE_TABLE, TABLE));
+                execute(SQL_CREATE_OWNER_INDEX);
+                execute("PRAGMA user_version = " + SCHEMA_VERSION);
+            } else if (version == 2) {
+                // Les hideouts existants ont tous été construits
+                execute("ALTER TABLE hideouts ADD COLUMN built INTEGER NOT NULL DEFAULT 1");
+                execute("PRAGMA user_version = " + SCHEMA_VERSION);
+            }
+        } catch (SQLException exception) {
+            Common.throwError(exception, "Erreur lors de la création du schéma de la base de données.");
+        }
     }
 
     /**
-     * Crée la table "hideouts" dans la base de données si elle n'existe pas déjà.
+     * Convertit une seule fois les lignes à l'ancien format (régions et mine en JSON, point d'apparition en texte)
+     * vers les colonnes typées, en conservant les identifiants. La conversion se fait en une transaction et
+     * n'a lieu que si toutes les lignes sont lisibles : sinon, l'ancienne table est conservée intacte et une
+     * exception est levée pour interrompre le démarrage. Bloque jusqu'à la fin de la conversion.
      */
-    private void createTable() {
-        createTable(TableCreator.of("hideouts")
-                .addAutoIncrement("id", "INTEGER")
-                .add("mainRegion", "TEXT")
-                .add("gangOwnerId", "INTEGER")
-                .add("spawnLocation", "TEXT")
-                .add("mineData", "TEXT")
-                .setPrimaryColumn("id"));
+    public void migrateSchema() {
+        runOnWriter(this::convertLegacyRows).join();
+    }
+
+    private void convertLegacyRows() {
+        Connection connection = null;
+        try {
+            if (getSchemaVersion() >= SCHEMA_VERSION || !hasLegacyTable()) {
+                return;
+            }
+
+            List<Hideout> legacyHideouts = new ArrayList<>();
+            List<String> failedRows = new ArrayList<>();
+            selectAll(TABLE, resultSet -> {
+                String id = resultSet.getString("id");
+                try {
+                    legacyHideouts.add(deserializeLegacyHideout(resultSet));
+                } catch (SQLException | RuntimeException exception) {
+                    failedRows.add(id + " (" + exception.getMessage() + ")");
+                }
+            });
+
+            // Une ligne illisible serait perdue par la suppression de l'ancienne table
+            if (!failedRows.isEmpty()) {
+                throw new FoException("Conversion annulée, lignes illisibles : " + String.join(", ", failedRows));
+            }
+
+            try (PreparedStatement begin = prepareStatement("SELECT 1")) {
+                connection = begin.getConnection();
+            }
+            connection.setAutoCommit(false);
+
+            // Une conversion interrompue peut avoir laissé une table partielle
+            execute("DROP TABLE IF EXISTS hideouts_migration");
+            execute(String.format(SQL_CREATE_TABLE, "hideouts_migration"));
+
+            try (PreparedStatement insert = prepareStatement(SQL_INSERT_MIGRATED_HIDEOUT)) {
+                for (Hideout hideout : legacyHideouts) {
+                    insert.setInt(1, hideout.getId());
+                    bindHideout(insert, 2, hideout);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+
+            execute("DROP TABLE " + TABLE);
+            execute("ALTER TABLE hideouts_migration RENAME TO " + TABLE);
+            execute(SQL_CREATE_OWNER_INDEX);
+            execute("PRAGMA user_version = " + SCHEMA_VERSION);
+            connection.commit();
+
+            Common.log("La base de données des hideouts a été convertie au schéma " + SCHEMA_VERSION + ". (Count: " + legacyHideouts.size() + ")");
+        } catch (SQLException | RuntimeException exception) {
+            rollback(connection);
+            throw new FoException(exception, "Erreur lors de la conversion de la base de données des hideouts, l'ancienne table est conservée.");
+        } finally {
+            restoreAutoCommit(connection);
+        }
     }
 
     /**
      * Ajoute un nouveau hideout à la base de données de manière asynchrone et retourne son identifiant généré.
+     * L'identifiant est renvoyé par l'insertion elle-même, sans requête supplémentaire.
      *
      * @param hideout Le hideout à ajouter.
      * @return Un CompletableFuture contenant l'identifiant du hideout ajouté.
      */
     public CompletableFuture<Integer> addHideout(Hideout hideout) {
-        return CompletableFuture.supplyAsync(() -> {
-            SerializedMap serializedHideout = serializeHideout(hideout);
-            insert("hideouts", serializedHideout);
-            return getLastInsertedId();
+        return insertHideouts(Collections.singletonList(hideout), true).thenApply(ids -> ids.get(0));
+    }
+
+    /**
+     * Ajoute un nouveau hideout dont la construction n'est pas encore terminée. Il reste marqué comme tel
+     * jusqu'à l'appel à {@link #markBuilt(int)}, y compris après un redémarrage.
+     *
+     * @param hideout Le hideout à ajouter.
+     * @return Un CompletableFuture contenant l'identifiant du hideout ajouté.
+     */
+    public CompletableFuture<Integer> addUnbuiltHideout(Hideout hideout) {
+        return insertHideouts(Collections.singletonList(hideout), false).thenApply(ids -> ids.get(0));
+    }
+
+    /**
+     * Marque un hideout comme construit.
+     *
+     * @param hideoutId L'identifiant du hideout.
+     * @return Un CompletableFuture indiquant la fin de l'écriture, complété en erreur si elle a échoué.
+     */
+    public CompletableFuture<Void> markBuilt(int hideoutId) {
+        return runOnWriter(() -> {
+            try (PreparedStatement statement = prepareStatement("UPDATE hideouts SET built = 1 WHERE id = ?")) {
+                statement.setInt(1, hideoutId);
+                statement.executeUpdate();
+            } catch (SQLException exception) {
+                Common.throwError(exception, "Erreur lors du marquage du hideout " + hideoutId + " comme construit.");
+                throw new CompletionException(exception);
+            }
         });
     }
 
     /**
-     * Met à jour un hideout existant dans la base de données de manière asynchrone.
+     * Récupère les identifiants des hideouts enregistrés dont la construction n'est pas terminée.
+     *
+     * @return Un CompletableFuture contenant les identifiants.
+     */
+    public CompletableFuture<List<Integer>> getUnbuiltHideoutIds() {
+        return read(connection -> {
+            List<Integer> ids = new ArrayList<>();
+            try (PreparedStatement statement = connection.prepareStatement("SELECT id FROM hideouts WHERE built = 0");
+                 ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    ids.add(resultSet.getInt(1));
+                }
+            }
+            return ids;
+        });
+    }
+
+    /**
+     * Ajoute plusieurs nouveaux hideouts en une seule transaction, avec une requête préparée réutilisée.
+     * Si une insertion échoue, aucune n'est conservée et le CompletableFuture est complété en erreur.
+     *
+     * @param hideouts Les hideouts à ajouter.
+     * @return Un CompletableFuture contenant les identifiants générés, dans l'ordre des hideouts.
+     */
+    public CompletableFuture<List<Integer>> addHideouts(List<Hideout> hideouts) {
+        return insertHideouts(hideouts, true);
+    }
+
+    private CompletableFuture<List<Integer>> insertHideouts(List<Hideout> hideouts, boolean built) {
+        if (hideouts.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+
+        List<Hideout> batch = new ArrayList<>(hideouts);
+        return CompletableFuture.supplyAsync(() -> {
+            List<Integer> generatedIds = new ArrayList<>(batch.size());
+            Connection connection = null;
+
+            try {
+                PreparedStatement statement = getInsertStatement();
+                connection = statement.getConnection();
+                connection.setAutoCommit(false);
+
+                for (Hideout hideout : batch) {
+                    int next = bindHideout(statement, 1, hideout);
+                    statement.setInt(next, built ? 1 : 0);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        if (!resultSet.next()) {
+                            throw new SQLException("Aucun identifiant généré pour le hideout inséré.");
+                        }
+                        generatedIds.add(resultSet.getInt(1));
+                    }
+                }
+
+                connection.commit();
+                return generatedIds;
+            } catch (SQLException exception) {
+                rollback(connection);
+                Common.throwError(exception, "Erreur lors de l'ajout des hideouts. (Count: " + batch.size() + ")");
+                throw new CompletionException(exception);
+            } finally {
+                restoreAutoCommit(connection);
+            }
+        }, writer);
+    }
+
+    /**
+     * Marque un hideout comme modifié. Il sera écrit dans la base de données à la prochaine écriture périodique,
+     * avec son état à ce moment-là. Plusieurs mises à jour d'un même hideout ne donnent qu'une écriture.
      *
      * @param hideout Le hideout à mettre à jour.
      */
     public void updateHideout(Hideout hideout) {
-        CompletableFuture.runAsync(() -> {
-            SerializedMap serializedHideout = serializeHideout(hideout);
-
-            String sql = String.format(
-                    "UPDATE hideouts SET mainRegion = '%s', gangOwnerId = %d, spawnLocation = '%s', mineData = '%s' WHERE id = %d;",
-                    serializedHideout.getString("mainRegion"),
-                    serializedHideout.getInteger("gangOwnerId"),
-                    serializedHideout.getString("spawnLocation"),
-                    serializedHideout.getString("mineData"),
-                    hideout.getId()
-            );
-
-            update(sql);
-        });
+        dirtyHideouts.put(hideout.getId(), hideout);
+    }
+
+    /**
+     * Démarre l'écriture périodique des hideouts modifiés. Sans effet si elle tourne déjà.
+     */
+    public void startWriteBehind() {
+        if (flushTask == null || flushTask.isCancelled()) {
+            // 1 tick = 50 millisecondes
+            long period = Math.max(1, Settings.Database.FLUSH_INTERVAL_TICKS) * 50L;
+            flushTask = writer.scheduleWithFixedDelay(this::flushDirtyHideouts, period, period, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Arrête l'écriture périodique et écrit immédiatement les hideouts encore modifiés.
+     */
+    public void stopWriteBehind() {
+        if (flushTask != null) {
+            flushTask.cancel(false);
+            flushTask = null;
+        }
+
+        runOnWriter(this::flushDirtyHideouts).join();
+    }
+
+    /**
+     * Écrit les modifications en attente, termine les écritures en file, ferme les connexions en lecture
+     * puis la connexion principale.
+     */
+    public void shutdown() {
+        stopWriteBehind();
+
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                writer.shutdownNow();
+            }
+        } catch (InterruptedException exception) {
+            writer.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        synchronized (this) {
+            if (readPool != null) {
+                readPool.close();
+                readPool = null;
+            }
+        }
+
+        close();
+    }
+
+    /**
+     * Écrit tous les hideouts modifiés en une seule transaction, avec une requête préparée réutilisée.
+     * En cas d'échec, les hideouts sont de nouveau marqués, sauf s'ils ont été modifiés entre-temps.
+     * Exécuté sur le thread d'écriture.
+     */
+    private void flushDirtyHideouts() {
+        if (dirtyHideouts.isEmpty() || !isLoaded()) {
+            return;
+        }
+
+        List<Hideout> batch = new ArrayList<>(dirtyHideouts.size());
+        for (Map.Entry<Integer, Hideout> entry : dirtyHideouts.entrySet()) {
+            if (dirtyHideouts.remove(entry.getKey(), entry.getValue())) {
+                batch.add(entry.getValue());
+            }
+        }
+
+        Connection connection = null;
+        try {
+            PreparedStatement statement = getUpdateStatement();
+            connection = statement.getConnection();
+            connection.setAutoCommit(false);
+
+            for (Hideout hideout : batch) {
+                int next = bindHideout(statement, 1, hideout);
+                statement.setInt(next, hideout.getId());
+                statement.addBatch();
+            }
+
+            statement.executeBatch();
+            connection.commit();
+        } catch (SQLException exception) {
+            rollback(connection);
+            batch.forEach(hideout -> dirtyHideouts.putIfAbsent(hideout.getId(), hideout));
+            Common.throwError(exception, "Erreur lors de l'écriture des hideouts modifiés. (Count: " + batch.size() + ")");
+        } finally {
+            restoreAutoCommit(connection);
+        }
     }
 
     /**
@@ -91,9 +414,14 @@ public class HideoutDatabase extends SimpleDatabase {
      * @param hideoutId L'identifiant du hideout à supprimer.
      */
     public void removeHideout(int hideoutId) {
-        CompletableFuture.runAsync(() -> {
-            String sql = String.format("DELETE FROM hideouts WHERE id = %d;", hideoutId);
-            update(sql);
+        dirtyHideouts.remove(hideoutId);
+        runOnWriter(() -> {
+            try (PreparedStatement statement = prepareStatement("DELETE FROM hideouts WHERE id = ?")) {
+                statement.setInt(1, hideoutId);
+                statement.executeUpdate();
+            } catch (SQLException exception) {
+                Common.throwError(exception, "Erreur lors de la suppression du hideout " + hideoutId + ".");
+            }
         });
     }
 
@@ -103,54 +431,122 @@ public class HideoutDatabase extends SimpleDatabase {
      * @return Un CompletableFuture contenant la liste de tous les hideouts.
      */
     public CompletableFuture<List<Hideout>> getAllHideouts() {
-        return CompletableFuture.supplyAsync(() -> {
+        return read(connection -> {
             List<Hideout> hideouts = new ArrayList<>();
 
-            selectAll("hideouts", resultSet -> {
-                try {
-                    Hideout hideout = deserializeHideout(resultSet);
-                    hideouts.add(hideout);
-                } catch (SQLException exception) {
-                    Common.throwError(exception, "Erreur lors de la désérialisation du hideout à partir du ResultSet.");
+            try (PreparedStatement statement = connection.prepareStatement("SELECT * FROM hideouts");
+                 ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    hideouts.add(deserializeHideout(resultSet));
                 }
-            });
+            } catch (SQLException exception) {
+                Common.throwError(exception, "Erreur lors de la désérialisation du hideout à partir du ResultSet.");
+            }
 
             return hideouts;
         });
     }
 
     /**
-     * Récupère le dernier hideout inséré dans la base de données de manière asynchrone.
+     * Récupère un hideout de la base de données de manière asynchrone.
      *
-     * @return Un CompletableFuture contenant le dernier hideout inséré, ou un Optional.empty() si aucun hideout n'est trouvé.
+     * @param hideoutId L'identifiant du hideout.
+     * @return Un CompletableFuture contenant le hideout, ou un Optional.empty() s'il n'existe pas.
      */
-    public CompletableFuture<Optional<Hideout>> getLastHideout() {
-        return CompletableFuture.supplyAsync(() -> {
-            final Hideout[] hideout = new Hideout[1];
-            select("hideouts", "1 ORDER BY id DESC LIMIT 1", resultSet -> hideout[0] = deserializeHideout(resultSet));
-            return Optional.ofNullable(hideout[0]);
+    public CompletableFuture<Optional<Hideout>> getHideout(int hideoutId) {
+        // Un hideout modifié mais pas encore écrit est plus récent que sa ligne
+        Hideout dirty = dirtyHideouts.get(hideoutId);
+        if (dirty != null) {
+            return CompletableFuture.completedFuture(Optional.of(dirty));
+        }
+
+        return read(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("SELECT * FROM hideouts WHERE id = ?")) {
+                statement.setInt(1, hideoutId);
+
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    return resultSet.next() ? Optional.of(deserializeHideout(resultSet)) : Optional.<Hideout>empty();
+                }
+            }
         });
     }
 
     /**
-     * Récupère l'identifiant du dernier hideout inséré dans la base de données.
+     * Écrit un instantané binaire de tous les hideouts dans un fichier, au format de {@link HideoutCodec}.
+     * Les hideouts modifiés mais pas encore écrits sont exportés dans leur état en mémoire.
      *
-     * @return L'identifiant du dernier hideout inséré.
+     * @param file Le fichier de destination, remplacé s'il existe.
+     * @return Un CompletableFuture contenant le nombre de hideouts exportés.
      */
-    private int getLastInsertedId() {
-        final int[] lastInsertedId = {0};
-        select("hideouts", "1 ORDER BY id DESC LIMIT 1", resultSet -> lastInsertedId[0] = resultSet.getInt("id"));
-        return lastInsertedId[0];
+    public CompletableFuture<Integer> exportSnapshot(File file) {
+        return getAllHideouts().thenApplyAsync(hideouts -> {
+            Map<Integer, Hideout> snapshot = new LinkedHashMap<>();
+            hideouts.forEach(hideout -> snapshot.put(hideout.getId(), hideout));
+            dirtyHideouts.forEach(snapshot::replace);
+
+            try (OutputStream output = new BufferedOutputStream(new FileOutputStream(file))) {
+                HideoutCodec.writeSnapshot(output, snapshot.values());
+            } catch (IOException exception) {
+                throw new CompletionException(exception);
+            }
+            return snapshot.size();
+        });
     }
 
     /**
-     * Désérialise un hideout à partir d'un ResultSet.
+     * Récupère l'index léger de tous les hideouts (identifiant, propriétaire, emplacement) de manière asynchrone,
+     * sans désérialiser leur mine ni leur point d'apparition.
+     *
+     * @return Un CompletableFuture contenant les entrées de l'index.
+     */
+    public CompletableFuture<List<HideoutIndexEntry>> getHideoutIndex() {
+        return read(connection -> {
+            List<HideoutIndexEntry> entries = new ArrayList<>();
+
+            try (PreparedStatement statement = connection.prepareStatement("SELECT id, gangOwnerId, mainPrimaryX, mainPrimaryZ FROM hideouts");
+                 ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    entries.add(deserializeIndexEntry(resultSet));
+                }
+            } catch (SQLException exception) {
+                Common.throwError(exception, "Erreur lors de la lecture de l'index des hideouts à partir du ResultSet.");
+            }
+
+            return entries;
+        });
+    }
+
+    /**
+     * Lit un hideout à partir des colonnes typées d'un ResultSet.
+     *
+     * @param resultSet Le ResultSet contenant les données du hideout.
+     * @return Le hideout lu.
+     * @throws SQLException Si une erreur survient lors de la lecture.
+     */
+    private Hideout deserializeHideout(ResultSet resultSet) throws SQLException {
+        World world = Bukkit.getWorld(resultSet.getString("world"));
+
+        Region mainRegion = new Region(
+                new Location(world, resultSet.getInt("mainPrimaryX"), resultSet.getInt("mainPrimaryY"), resultSet.getInt("mainPrimaryZ")),
+                new Location(world, resultSet.getInt("mainSecondaryX"), resultSet.getInt("mainSecondaryY"), resultSet.getInt("mainSecondaryZ")));
+        Region mineRegion = new Region(
+                new Location(world, resultSet.getInt("minePrimaryX"), resultSet.getInt("minePrimaryY"), resultSet.getInt("minePrimaryZ")),
+                new Location(world, resultSet.getInt("mineSecondaryX"), resultSet.getInt("mineSecondaryY"), resultSet.getInt("mineSecondaryZ")));
+        Location spawnLocation = new Location(world,
+                resultSet.getDouble("spawnX"), resultSet.getDouble("spawnY"), resultSet.getDouble("spawnZ"),
+                (float) resultSet.getDouble("spawnYaw"), (float) resultSet.getDouble("spawnPitch"));
+
+        return new Hideout(resultSet.getInt("id"), mainRegion, new Mine(mineRegion, resultSet.getInt("mineLevel")), spawnLocation, resultSet.getInt("gangOwnerId"));
+    }
+
+    /**
+     * Désérialise un hideout stocké à l'ancien format (régions et mine en JSON, point d'apparition en texte).
      *
      * @param resultSet Le ResultSet contenant les données du hideout.
      * @return Le hideout désérialisé.
      * @throws SQLException Si une erreur survient lors de la désérialisation.
      */
-    private Hideout deserializeHideout(SimpleResultSet resultSet) throws SQLException {
+    private Hideout deserializeLegacyHideout(SimpleResultSet resultSet) throws SQLException {
         int id = resultSet.getInt("id");
         Region mainRegion = Region.deserialize(SerializedMap.fromJson(resultSet.getString("mainRegion")));
         int gangOwnerId = resultSet.getInt("gangOwnerId");
@@ -163,18 +559,151 @@ public class HideoutDatabase extends SimpleDatabase {
     }
 
     /**
-     * Sérialise un hideout en un SerializedMap pour l'insertion ou la mise à jour dans la base de données.
+     * Lit l'entrée d'index d'un hideout à partir d'un ResultSet.
+     *
+     * @param resultSet Le ResultSet contenant les données du hideout.
+     * @return L'entrée d'index du hideout.
+     * @throws SQLException Si une erreur survient lors de la lecture.
+     */
+    private HideoutIndexEntry deserializeIndexEntry(ResultSet resultSet) throws SQLException {
+        return new HideoutIndexEntry(
+                resultSet.getInt("id"),
+                resultSet.getInt("gangOwnerId"),
+                resultSet.getInt("mainPrimaryX"),
+                resultSet.getInt("mainPrimaryZ"));
+    }
+
+    /**
+     * Lie les colonnes d'un hideout à une requête préparée, dans l'ordre de {@link #COLUMNS}.
      *
-     * @param hideout Le hideout à sérialiser.
-     * @return Le SerializedMap contenant les données sérialisées du hideout.
+     * @param statement La requête préparée.
+     * @param index     L'index du premier paramètre à lier.
+     * @param hideout   Le hideout à écrire.
+     * @return L'index du paramètre suivant.
+     * @throws SQLException Si un paramètre ne peut pas être lié.
      */
-    private SerializedMap serializeHideout(Hideout hideout) {
-        SerializedMap serializedHideout = new SerializedMap();
-        serializedHideout.put("mainRegion", hideout.getMainRegion().serialize().toJson());
-        serializedHideout.put("gangOwnerId", hideout.getGangOwnerId());
-        serializedHideout.put("spawnLocation", LocationUtils.serialize(hideout.getSpawnLocation()));
-        serializedHideout.put("mineData", hideout.getMine().serialize().toJson());
+    private int bindHideout(PreparedStatement statement, int index, Hideout hideout) throws SQLException {
+        Region mainRegion = hideout.getMainRegion();
+        Mine.State mineState = hideout.getMine().getState();
+        Location spawn = hideout.getSpawnLocation();
+
+        statement.setInt(index++, hideout.getGangOwnerId());
+        statement.setString(index++, mainRegion.getPrimary().getWorld().getName());
+        index = bindBlock(statement, index, mainRegion.getPrimary());
+        index = bindBlock(statement, index, mainRegion.getSecondary());
+        index = bindBlock(statement, index, mineState.getRegion().getPrimary());
+        index = bindBlock(statement, index, mineState.getRegion().getSecondary());
+        statement.setInt(index++, mineState.getLevel());
+        statement.setDouble(index++, spawn.getX());
+        statement.setDouble(index++, spawn.getY());
+        statement.setDouble(index++, spawn.getZ());
+        statement.setDouble(index++, spawn.getYaw());
+        statement.setDouble(index++, spawn.getPitch());
+        return index;
+    }
+
+    private int bindBlock(PreparedStatement statement, int index, Location location) throws SQLException {
+        statement.setInt(index++, location.getBlockX());
+        statement.setInt(index++, location.getBlockY());
+        statement.setInt(index++, location.getBlockZ());
+        return index;
+    }
+
+    /**
+     * Exécute une lecture sur le pool de connexions en lecture seule, ouvert à la première lecture.
+     */
+    private <T> CompletableFuture<T> read(ReadConnectionPool.Query<T> query) {
+        ReadConnectionPool pool;
+        synchronized (this) {
+            if (readPool == null) {
+                try {
+                    readPool = new ReadConnectionPool(url, Settings.Database.READ_CONNECTIONS);
+                } catch (SQLException exception) {
+                    return CompletableFuture.failedFuture(exception);
+                }
+            }
+            pool = readPool;
+        }
+        return pool.read(query);
+    }
+
+    /**
+     * Met une écriture en file sur le thread d'écriture, après toutes celles déjà demandées.
+     */
+    private CompletableFuture<Void> runOnWriter(Runnable write) {
+        return CompletableFuture.runAsync(write, writer);
+    }
+
+    private int getSchemaVersion() throws SQLException {
+        try (PreparedStatement statement = prepareStatement("PRAGMA user_version");
+             ResultSet resultSet = statement.executeQuery()) {
+            return resultSet.next() ? resultSet.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Vérifie si la table des hideouts existe à l'ancien format.
+     */
+    private boolean hasLegacyTable() throws SQLException {
+        try (PreparedStatement statement = prepareStatement("SELECT 1 FROM pragma_table_info('" + TABLE + "') WHERE name = '" + LEGACY_COLUMN + "'");
+             ResultSet resultSet = statement.executeQuery()) {
+            return resultSet.next();
+        }
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (PreparedStatement statement = prepareStatement(sql)) {
+            statement.execute();
+        }
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    /**
+     * Retourne la requête préparée d'insertion, préparée une seule fois puis réutilisée.
+     */
+    private PreparedStatement getInsertStatement() throws SQLException {
+        if (insertStatement == null || insertStatement.isClosed()) {
+            insertStatement = prepareStatement(SQL_INSERT_HIDEOUT);
+        }
+        return insertStatement;
+    }
+
+    /**
+     * Retourne la requête préparée de mise à jour, préparée une seule fois puis réutilisée.
+     */
+    private PreparedStatement getUpdateStatement() throws SQLException {
+        if (updateStatement == null || updateStatement.isClosed()) {
+            updateStatement = prepareStatement(SQL_UPDATE_HIDEOUT);
+        }
+        return updateStatement;
+    }
+
+    private void rollback(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+
+        try {
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+            }
+        } catch (SQLException exception) {
+            Common.throwError(exception, "Erreur lors de l'annulation de la transaction.");
+        }
+    }
+
+    private void restoreAutoCommit(Connection connection) {
+        if (connection == null) {
+            return;
+        }
 
-        return serializedHideout;
+        try {
+            connection.setAutoCommit(true);
+        } catch (SQLException exception) {
+            Common.throwError(exception, "Erreur lors de la fin de la transaction.");
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,140 @@
+package com.solandra.hideout.database;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Petit pool de connexions SQLite en lecture seule, chacune utilisée par un seul thread à la fois.
+ * En mode WAL, ces lectures ne bloquent pas le thread d'écriture et n'en sont pas bloquées :
+ * elles voient la dernière transaction validée au début de leur requête.
+ */
+public class ReadConnectionPool {
+    private static final String THREAD_NAME_FORMAT = "SolandraHideout-DB-Read-%d";
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+    private final List<Connection> connections;
+    private final BlockingQueue<Connection> idleConnections;
+    private final ExecutorService readers;
+
+    /**
+     * Ouvre les connexions en lecture du pool.
+     *
+     * @param url  L'URL JDBC de la base de données.
+     * @param size Le nombre de connexions, et donc de lectures exécutées en même temps.
+     * @throws SQLException Si une connexion ne peut pas être ouverte.
+     */
+    public ReadConnectionPool(String url, int size) throws SQLException {
+        int poolSize = Math.max(1, size);
+        this.connections = new ArrayList<>(poolSize);
+        this.idleConnections = new ArrayBlockingQueue<>(poolSize);
+
+        try {
+            for (int i = 0; i < poolSize; i++) {
+                Connection connection = DriverManager.getConnection(url);
+                connections.add(connection);
+
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("PRAGMA query_only = ON");
+                    statement.execute("PRAGMA busy_timeout = " + HideoutDatabase.BUSY_TIMEOUT_MILLIS);
+                    statement.execute("PRAGMA temp_store = MEMORY");
+                }
+                idleConnections.add(connection);
+            }
+        } catch (SQLException exception) {
+            closeConnections();
+            throw exception;
+        }
+
+        // Autant de threads que de connexions : une lecture n'attend jamais une connexion libre
+        this.readers = Executors.newFixedThreadPool(poolSize, new ReadThreadFactory());
+    }
+
+    /**
+     * Exécute une lecture sur une connexion du pool.
+     *
+     * @param query La lecture à exécuter.
+     * @param <T>   Le type du résultat.
+     * @return Un CompletableFuture contenant le résultat, ou en erreur si la lecture a échoué.
+     */
+    public <T> CompletableFuture<T> read(Query<T> query) {
+        return CompletableFuture.supplyAsync(() -> {
+            Connection connection = idleConnections.poll();
+            if (connection == null) {
+                throw new IllegalStateException("Aucune connexion en lecture disponible.");
+            }
+
+            try {
+                return query.execute(connection);
+            } catch (SQLException exception) {
+                throw new CompletionException(exception);
+            } finally {
+                idleConnections.add(connection);
+            }
+        }, readers);
+    }
+
+    /**
+     * Arrête les threads de lecture puis ferme les connexions.
+     */
+    public void close() {
+        readers.shutdown();
+        try {
+            if (!readers.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                readers.shutdownNow();
+            }
+        } catch (InterruptedException exception) {
+            readers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        closeConnections();
+    }
+
+    private void closeConnections() {
+        for (Connection connection : connections) {
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+                // La connexion est abandonnée dans tous les cas
+            }
+        }
+        connections.clear();
+    }
+
+    /**
+     * Lecture exécutée avec une connexion du pool.
+     *
+     * @param <T> Le type du résultat.
+     */
+    @FunctionalInterface
+    public interface Query<T> {
+        T execute(Connection connection) throws SQLException;
+    }
+
+    /**
+     * Fabrique des threads nommés pour les lectures.
+     */
+    private static final class ReadThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, String.format(THREAD_NAME_FORMAT, counter.incrementAndGet()));
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
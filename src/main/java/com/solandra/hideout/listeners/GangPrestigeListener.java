@@ -0,0 +1,83 @@
+package com.solandra.hideout.listeners;
+
+import com.solandra.hideout.Main;
+import com.solandra.hideout.manager.GangPrestigeCache;
+import net.brcdev.gangs.GangsPlusApi;
+import net.brcdev.gangs.event.GangDisbandEvent;
+import net.brcdev.gangs.event.PlayerJoinGangEvent;
+import net.brcdev.gangs.event.PlayerLeaveGangEvent;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+public class GangPrestigeListener implements Listener {
+
+    // Cache du prestige des gangs
+    private final GangPrestigeCache prestigeCache;
+
+    /**
+     * Constructeur de GangPrestigeListener qui injecte les dépendances nécessaires.
+     */
+    public GangPrestigeListener(Main plugin) {
+        this.prestigeCache = plugin.getGangPrestigeCache();
+    }
+
+    /**
+     * Ajoute le prestige d'un nouveau membre au total de son gang.
+     *
+     * @param event L'événement déclenché lorsqu'un joueur rejoint un gang.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onGangJoin(PlayerJoinGangEvent event) {
+        prestigeCache.addMember(event.getGang().getId(), event.getPlayer().getUniqueId());
+    }
+
+    /**
+     * Retire le prestige d'un membre du total de son ancien gang.
+     *
+     * @param event L'événement déclenché lorsqu'un joueur quitte un gang.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onGangLeave(PlayerLeaveGangEvent event) {
+        prestigeCache.removeMember(event.getGang().getId(), event.getPlayer().getUniqueId());
+    }
+
+    /**
+     * Oublie le total d'un gang dissous.
+     *
+     * @param event L'événement déclenché lorsqu'un gang est dissous.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onGangDisband(GangDisbandEvent event) {
+        prestigeCache.invalidate(event.getGang().getId());
+    }
+
+    /**
+     * Relit le prestige d'un membre à sa connexion.
+     *
+     * @param event L'événement déclenché lorsqu'un joueur se connecte.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        refreshMember(event.getPlayer());
+    }
+
+    /**
+     * Relit le prestige d'un membre à sa déconnexion, pour prendre en compte les prestiges gagnés pendant sa session.
+     *
+     * @param event L'événement déclenché lorsqu'un joueur se déconnecte.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        refreshMember(event.getPlayer());
+    }
+
+    private void refreshMember(Player player) {
+        if (GangsPlusApi.isInGang(player)) {
+            prestigeCache.refreshMember(GangsPlusApi.getPlayersGang(player).getId(), player.getUniqueId());
+        }
+    }
+}
@@ -11,8 +11,6 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.mineacademy.fo.Common;
 
-import java.util.Optional;
-
 public class HideoutListener implements Listener {
 
     // Gestionnaire des hideouts
@@ -65,8 +63,9 @@ public class HideoutListener implements Listener {
 
     /**
      * Gère les actions nécessaires lorsque le propriétaire d'un gang rejoint.
-     * Cela inclut la création ou le chargement d'un hideout, le placement d'une
-     * schématique, et la téléportation du joueur au centre du hideout.
+     * Un hideout libre (préparé à l'avance ou libéré par un gang dissous) est déjà construit :
+     * le joueur y est directement téléporté. Sinon, un hideout est créé, sa schématique placée
+     * et sa mine remplie.
      *
      * @param gang       Le gang auquel le joueur a adhéré.
      * @param playerJoin Le joueur qui a rejoint le gang et qui est le propriétaire.
@@ -79,8 +78,6 @@ public class HideoutListener implements Listener {
             } else {
                 teleportPlayerToHideout(playerJoin, hideout);
             }
-
-            mineManager.fillWithBlocks(hideout);
         });
     }
 
@@ -93,13 +90,13 @@ public class HideoutListener implements Listener {
      */
     private void handleGangMemberJoin(Player playerJoin, int gangId) {
         Common.tell(playerJoin, GANG_JOIN_MESSAGE);
-        Optional<Hideout> hideout = hideoutManager.getHideoutById(gangId);
-        hideout.ifPresent(value -> teleportPlayerToHideout(playerJoin, value));
+        hideoutManager.loadHideoutByGangOwnerId(gangId).thenAccept(hideout ->
+                hideout.ifPresent(value -> teleportPlayerToHideout(playerJoin, value)));
     }
 
     /**
-     * Place la schématique dans la région spécifiée et téléporte le joueur
-     * au centre du hideout une fois l'opération terminée.
+     * Place la schématique dans la région spécifiée, téléporte le joueur
+     * au centre du hideout une fois l'opération terminée, puis remplit la mine.
      *
      * @param hideout    Le hideout dans lequel placer la schématique.
      * @param playerJoin Le joueur à téléporter une fois la schématique placée.
@@ -108,6 +105,7 @@ public class HideoutListener implements Listener {
     private void placeSchematicAndTeleport(Hideout hideout, Player playerJoin, int gangId) {
         hideoutManager.placeSchematicAtRegion(hideout.getMainRegion())
                 .thenRun(() -> teleportPlayerToHideout(playerJoin, hideout))
+                .thenCompose(ignored -> mineManager.fillWithBlocks(hideout))
                 .exceptionally(throwable -> handleSchematicPlacementError(throwable, gangId, playerJoin.getName()));
     }
 
@@ -0,0 +1,42 @@
+package com.solandra.hideout.listeners;
+
+import com.solandra.hideout.Main;
+import com.solandra.hideout.manager.HideoutSpatialIndex;
+import com.solandra.hideout.manager.MineManager;
+import com.solandra.hideout.model.Hideout;
+import org.bukkit.block.Block;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+
+public class MineListener implements Listener {
+
+    // Gestionnaires des hideouts et des mines
+    private final HideoutSpatialIndex spatialIndex;
+    private final MineManager mineManager;
+
+    /**
+     * Constructeur de MineListener qui injecte les dépendances nécessaires.
+     */
+    public MineListener(Main plugin) {
+        this.spatialIndex = plugin.getHideoutManager().getSpatialIndex();
+        this.mineManager = plugin.getMineManager();
+    }
+
+    /**
+     * Enregistre les blocs cassés dans la mine qui les contient, quel que soit le joueur,
+     * afin que le prochain remplissage ne réécrive que ces positions.
+     *
+     * @param event L'événement déclenché lorsqu'un bloc est cassé.
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreak(BlockBreakEvent event) {
+        Block block = event.getBlock();
+
+        Hideout hideout = spatialIndex.getHideoutWithMineAt(block.getWorld(), block.getX(), block.getY(), block.getZ());
+        if (hideout != null) {
+            mineManager.recordBlockBreak(hideout, block.getX(), block.getY(), block.getZ());
+        }
+    }
+}
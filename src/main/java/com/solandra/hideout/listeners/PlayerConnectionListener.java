@@ -0,0 +1,45 @@
+package com.solandra.hideout.listeners;
+
+import com.solandra.hideout.Main;
+import com.solandra.hideout.manager.HideoutManager;
+import com.solandra.hideout.manager.UUIDResolver;
+import net.brcdev.gangs.GangsPlusApi;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+
+public class PlayerConnectionListener implements Listener {
+
+    // Gestionnaire des hideouts
+    private final HideoutManager hideoutManager;
+    private final UUIDResolver uuidResolver;
+
+    /**
+     * Constructeur de PlayerConnectionListener qui injecte les dépendances nécessaires.
+     */
+    public PlayerConnectionListener(Main plugin) {
+        this.hideoutManager = plugin.getHideoutManager();
+        this.uuidResolver = plugin.getUUIDResolver();
+    }
+
+    /**
+     * Charge en arrière-plan le hideout du gang d'un joueur qui se connecte,
+     * pour qu'il soit en mémoire avant sa première commande ou son premier bloc cassé.
+     * Le nom et l'UUID du joueur sont aussi gardés pour les recherches de joueurs hors ligne.
+     *
+     * @param event L'événement déclenché lorsqu'un joueur se connecte.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        Player player = event.getPlayer();
+        uuidResolver.remember(player.getName(), player.getUniqueId());
+
+        if (!GangsPlusApi.isInGang(player)) {
+            return;
+        }
+
+        hideoutManager.loadHideoutByGangOwnerId(GangsPlusApi.getPlayersGang(player).getId());
+    }
+}
@@ -0,0 +1,293 @@
+package com.solandra.hideout.manager;
+
+import org.bukkit.World;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Exécuteur dédié aux sessions d'édition FAWE (collages de schématiques, remplissages de mines).
+ * Les éditions sont rangées dans une file par monde et par fichier région (512 x 512 blocs) : deux éditions
+ * de la même zone ne s'exécutent jamais en même temps et gardent leur ordre d'arrivée, tandis que des zones
+ * différentes progressent en parallèle sur un nombre limité de threads nommés.
+ * Le nombre total d'éditions en attente est borné : au-delà, les nouvelles demandes sont refusées.
+ * La file d'une zone est retirée dès qu'elle est vide : seules les zones ayant des éditions en cours en ont une.
+ * À l'arrêt, les éditions encore en file ne sont pas exécutées : leur CompletableFuture est complété en erreur.
+ */
+public class EditSessionExecutor {
+    private static final String THREAD_NAME_FORMAT = "SolandraHideout-Edit-%d";
+    private static final int SHARD_SHIFT = 9;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    // Messages constants
+    private static final String ERROR_QUEUE_FULL = "La file des éditions est pleine (%d éditions en attente).";
+    private static final String ERROR_SHUTDOWN = "L'exécuteur des éditions est arrêté.";
+
+    private final ExecutorService workers;
+    private final Semaphore capacity;
+    private final int queueCapacity;
+    private final ConcurrentMap<String, Lane> lanes;
+    private volatile boolean shutdown;
+
+    /**
+     * Crée l'exécuteur des éditions.
+     *
+     * @param concurrentEdits Le nombre maximal d'éditions exécutées en même temps.
+     * @param queueCapacity   Le nombre maximal d'éditions en attente ou en cours.
+     */
+    public EditSessionExecutor(int concurrentEdits, int queueCapacity) {
+        this.workers = Executors.newFixedThreadPool(Math.max(1, concurrentEdits), new EditThreadFactory());
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.capacity = new Semaphore(this.queueCapacity);
+        this.lanes = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Met une édition en file dans la zone contenant la position donnée.
+     *
+     * @param world  Le monde de l'édition.
+     * @param blockX La coordonnée X servant à choisir la zone.
+     * @param blockZ La coordonnée Z servant à choisir la zone.
+     * @param edit   L'édition à exécuter.
+     * @return Un CompletableFuture complété à la fin de l'édition, ou en erreur si la file est pleine.
+     */
+    public CompletableFuture<Void> submit(World world, int blockX, int blockZ, Runnable edit) {
+        CompletableFuture<Void> future = trySubmit(world, blockX, blockZ, edit);
+        if (future == null) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException(String.format(ERROR_QUEUE_FULL, queueCapacity)));
+        }
+        return future;
+    }
+
+    /**
+     * Met une édition en file si la capacité le permet.
+     *
+     * @param world  Le monde de l'édition.
+     * @param blockX La coordonnée X servant à choisir la zone.
+     * @param blockZ La coordonnée Z servant à choisir la zone.
+     * @param edit   L'édition à exécuter.
+     * @return Un CompletableFuture complété à la fin de l'édition, ou en erreur si l'exécuteur est arrêté,
+     *         ou null si la file est pleine.
+     */
+    public CompletableFuture<Void> trySubmit(World world, int blockX, int blockZ, Runnable edit) {
+        if (!capacity.tryAcquire()) {
+            return null;
+        }
+
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        String laneKey = world.getName() + ":" + (blockX >> SHARD_SHIFT) + ":" + (blockZ >> SHARD_SHIFT);
+        QueuedEdit task = new QueuedEdit(edit, future);
+
+        try {
+            // Sous le verrou de la table, pour ne jamais ajouter une édition à une file en cours de retrait
+            lanes.compute(laneKey, (key, lane) -> {
+                Lane current = lane != null ? lane : new Lane(key);
+                current.enqueue(task);
+                return current;
+            });
+        } catch (RejectedExecutionException exception) {
+            capacity.release();
+            future.completeExceptionally(exception);
+        }
+
+        return future;
+    }
+
+    /**
+     * Retourne le nombre d'éditions pouvant encore être mises en file.
+     *
+     * @return La capacité restante.
+     */
+    public int getAvailableCapacity() {
+        return capacity.availablePermits();
+    }
+
+    /**
+     * Retourne le nombre d'éditions en attente ou en cours.
+     *
+     * @return Le nombre d'éditions.
+     */
+    public int getPendingEdits() {
+        return queueCapacity - capacity.availablePermits();
+    }
+
+    /**
+     * Arrête l'exécuteur en laissant aux éditions en cours le temps de se terminer.
+     * Les éditions encore en file sont abandonnées et leur CompletableFuture est complété
+     * par une CancellationException ; les nouvelles demandes sont refusées.
+     */
+    public void shutdown() {
+        shutdown = true;
+        cancelQueuedEdits();
+
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException exception) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        // Files dont le thread n'a jamais démarré, ou créées pendant l'arrêt
+        cancelQueuedEdits();
+    }
+
+    // Méthodes privées
+
+    /**
+     * Vide toutes les files et complète en erreur les éditions qui y attendaient.
+     */
+    private void cancelQueuedEdits() {
+        for (Lane lane : lanes.values()) {
+            lane.cancelQueued();
+        }
+    }
+
+    /**
+     * File sérialisée d'une zone : au plus une de ses éditions est exécutée à la fois.
+     * Elle est retirée de la table des files lorsqu'elle se vide.
+     */
+    private final class Lane {
+        private final String key;
+        private final Queue<QueuedEdit> edits = new ArrayDeque<>();
+        private boolean running;
+
+        private Lane(String key) {
+            this.key = key;
+        }
+
+        /**
+         * Ajoute une édition. Appelé sous le verrou de la table des files.
+         *
+         * @throws RejectedExecutionException si l'exécuteur est arrêté.
+         */
+        private synchronized void enqueue(QueuedEdit edit) {
+            if (shutdown) {
+                throw new RejectedExecutionException(ERROR_SHUTDOWN);
+            }
+
+            edits.add(edit);
+            if (!running) {
+                try {
+                    workers.execute(this::drain);
+                } catch (RejectedExecutionException exception) {
+                    edits.remove(edit);
+                    throw exception;
+                }
+                running = true;
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                QueuedEdit next;
+                synchronized (this) {
+                    next = edits.poll();
+                }
+
+                if (next == null && retireIfEmpty()) {
+                    return;
+                }
+                if (next != null) {
+                    if (shutdown) {
+                        next.cancel();
+                    } else {
+                        next.run();
+                    }
+                }
+            }
+        }
+
+        /**
+         * Retire la file de la table si aucune édition n'y a été ajoutée entre-temps.
+         *
+         * @return true si la file a été retirée et que le thread peut s'arrêter.
+         */
+        private boolean retireIfEmpty() {
+            boolean[] retired = new boolean[1];
+            lanes.computeIfPresent(key, (laneKey, lane) -> {
+                if (lane != this) {
+                    return lane;
+                }
+                synchronized (this) {
+                    if (!edits.isEmpty()) {
+                        return this;
+                    }
+                    running = false;
+                    retired[0] = true;
+                    return null;
+                }
+            });
+            return retired[0];
+        }
+
+        /**
+         * Retire et abandonne toutes les éditions en attente de la file. L'édition en cours n'est pas concernée.
+         */
+        private void cancelQueued() {
+            Queue<QueuedEdit> cancelled;
+            synchronized (this) {
+                cancelled = new ArrayDeque<>(edits);
+                edits.clear();
+            }
+            cancelled.forEach(QueuedEdit::cancel);
+        }
+    }
+
+    /**
+     * Édition en file, avec le CompletableFuture rendu à l'appelant.
+     * Sa place dans la capacité est rendue qu'elle soit exécutée ou abandonnée.
+     */
+    private final class QueuedEdit {
+        private final Runnable edit;
+        private final CompletableFuture<Void> future;
+
+        private QueuedEdit(Runnable edit, CompletableFuture<Void> future) {
+            this.edit = edit;
+            this.future = future;
+        }
+
+        private void run() {
+            try {
+                edit.run();
+                future.complete(null);
+            } catch (Throwable throwable) {
+                future.completeExceptionally(throwable);
+            } finally {
+                capacity.release();
+            }
+        }
+
+        private void cancel() {
+            capacity.release();
+            future.completeExceptionally(new CancellationException(ERROR_SHUTDOWN));
+        }
+    }
+
+    /**
+     * Fabrique des threads nommés pour l'exécuteur des éditions.
+     */
+    private static final class EditThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, String.format(THREAD_NAME_FORMAT, counter.incrementAndGet()));
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
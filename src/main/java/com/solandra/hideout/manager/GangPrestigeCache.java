@@ -0,0 +1,178 @@
+package com.solandra.hideout.manager;
+
+import com.solandra.hideout.Main;
+import com.solandra.hideout.settings.Settings;
+import com.solandra.prisoncore.api.PlayerAPI;
+import com.solandra.prisoncore.model.PrisonPlayer;
+import net.brcdev.gangs.GangsPlugin;
+import net.brcdev.gangs.gang.Gang;
+import org.bukkit.OfflinePlayer;
+import org.mineacademy.fo.Common;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Prestige total de chaque gang, tenu à jour de manière incrémentale.
+ * Le total est calculé une fois en parcourant les membres, puis ajusté à l'arrivée ou au départ d'un membre
+ * et lorsque le prestige d'un membre est relu (connexion, déconnexion). Passé le délai configuré,
+ * le total est recalculé entièrement au prochain accès, pour rattraper les changements non signalés.
+ */
+public class GangPrestigeCache {
+
+    // Messages constants
+    private static final String ERROR_PLAYER_API_NULL = "PlayerAPI is null";
+
+    private final ConcurrentMap<Integer, GangPrestige> gangs;
+
+    public GangPrestigeCache() {
+        this.gangs = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Retourne le prestige total d'un gang, recalculé seulement si le total est absent ou expiré.
+     *
+     * @param gangId L'identifiant du gang.
+     * @return Le prestige total du gang, ou 0 si le gang n'existe pas.
+     */
+    public int getPrestige(int gangId) {
+        if (gangId == 0) {
+            return 0;
+        }
+
+        GangPrestige prestige = gangs.get(gangId);
+        if (prestige != null && !prestige.isExpired(System.currentTimeMillis(), getTtlMillis())) {
+            return prestige.getTotal();
+        }
+
+        GangPrestige computed = compute(gangId);
+        if (computed == null) {
+            gangs.remove(gangId);
+            return 0;
+        }
+
+        gangs.put(gangId, computed);
+        return computed.getTotal();
+    }
+
+    /**
+     * Ajoute un membre au total de son gang.
+     *
+     * @param gangId   L'identifiant du gang.
+     * @param memberId L'UUID du membre qui rejoint le gang.
+     */
+    public void addMember(int gangId, UUID memberId) {
+        GangPrestige prestige = gangs.get(gangId);
+        if (prestige != null) {
+            prestige.setMember(memberId, readPrestige(memberId));
+        }
+    }
+
+    /**
+     * Retire un membre du total de son ancien gang.
+     *
+     * @param gangId   L'identifiant du gang.
+     * @param memberId L'UUID du membre qui quitte le gang.
+     */
+    public void removeMember(int gangId, UUID memberId) {
+        GangPrestige prestige = gangs.get(gangId);
+        if (prestige != null) {
+            prestige.removeMember(memberId);
+        }
+    }
+
+    /**
+     * Relit le prestige d'un membre et ajuste le total de son gang.
+     *
+     * @param gangId   L'identifiant du gang.
+     * @param memberId L'UUID du membre.
+     */
+    public void refreshMember(int gangId, UUID memberId) {
+        addMember(gangId, memberId);
+    }
+
+    /**
+     * Oublie le total d'un gang, par exemple après sa dissolution.
+     *
+     * @param gangId L'identifiant du gang.
+     */
+    public void invalidate(int gangId) {
+        gangs.remove(gangId);
+    }
+
+    // Méthodes privées
+
+    /**
+     * Calcule le total d'un gang en parcourant tous ses membres.
+     *
+     * @param gangId L'identifiant du gang.
+     * @return Le total calculé, ou null si le gang n'existe pas (par exemple s'il vient d'être dissous).
+     */
+    private GangPrestige compute(int gangId) {
+        Gang gang = GangsPlugin.getInstance().getGangManager().getGang(gangId);
+        if (gang == null) {
+            return null;
+        }
+
+        GangPrestige prestige = new GangPrestige();
+        for (OfflinePlayer member : gang.getAllMembers()) {
+            prestige.setMember(member.getUniqueId(), readPrestige(member.getUniqueId()));
+        }
+
+        return prestige;
+    }
+
+    /**
+     * Lit le prestige d'un joueur depuis le PlayerAPI.
+     *
+     * @param memberId L'UUID du joueur.
+     * @return Le prestige du joueur, ou 0 s'il est inconnu.
+     */
+    private int readPrestige(UUID memberId) {
+        PlayerAPI playerAPI = Main.getInstance().getPlayerAPI();
+        if (playerAPI == null) {
+            Common.throwError(new NullPointerException(), ERROR_PLAYER_API_NULL);
+            return 0;
+        }
+
+        Optional<PrisonPlayer> prisonPlayer = playerAPI.getPlayer(memberId);
+        return prisonPlayer.map(PrisonPlayer::getPrestige).orElse(0);
+    }
+
+    private long getTtlMillis() {
+        return Math.max(0, Settings.PrestigeCache.TTL_SECONDS) * 1000L;
+    }
+
+    /**
+     * Prestige de chaque membre d'un gang et leur somme, protégés par le moniteur de l'instance.
+     */
+    private static final class GangPrestige {
+        private final Map<UUID, Integer> members = new HashMap<>();
+        private final long computedAt = System.currentTimeMillis();
+        private int total;
+
+        private synchronized void setMember(UUID memberId, int value) {
+            Integer previous = members.put(memberId, value);
+            total += value - (previous == null ? 0 : previous);
+        }
+
+        private synchronized void removeMember(UUID memberId) {
+            Integer previous = members.remove(memberId);
+            if (previous != null) {
+                total -= previous;
+            }
+        }
+
+        private synchronized int getTotal() {
+            return total;
+        }
+
+        private boolean isExpired(long now, long ttlMillis) {
+            return now - computedAt >= ttlMillis;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.solandra.hideout.manager;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * File d'actions par hideout : chaque opération qui modifie un hideout ou sa mine (amélioration, remplissage,
+ * réinitialisation, dissolution) passe par la file de son hideout. Une action ne démarre qu'une fois la précédente
+ * terminée, y compris ses étapes asynchrones (collage, remplissage). Les files de hideouts différents
+ * progressent indépendamment, sans verrou global.
+ * La dernière action en attente absorbe les demandes redondantes : deux remplissages mis en file à la suite
+ * n'en font qu'un, et tous les appelants reçoivent le même CompletableFuture.
+ */
+public class HideoutActionQueue {
+
+    /**
+     * Types d'actions, utilisés pour fusionner les demandes redondantes.
+     */
+    public enum ActionType {
+        UPGRADE,
+        RESET,
+        FILL,
+        REFILL,
+        DISBAND;
+
+        /**
+         * Indique si une action de ce type, encore en attente, rend inutile une nouvelle action du type donné.
+         * Un remplissage complet couvre un autre remplissage complet ou partiel.
+         */
+        private boolean covers(ActionType other) {
+            return switch (this) {
+                case FILL -> other == FILL || other == REFILL;
+                case REFILL -> other == REFILL;
+                default -> false;
+            };
+        }
+    }
+
+    private final ConcurrentMap<Integer, Mailbox> mailboxes;
+
+    public HideoutActionQueue() {
+        this.mailboxes = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Met une action en file pour un hideout.
+     * L'action ne doit pas attendre une autre action du même hideout, sous peine de bloquer sa file.
+     *
+     * @param hideoutId L'identifiant du hideout.
+     * @param type      Le type de l'action.
+     * @param action    L'action, qui retourne un CompletableFuture complété à la fin de toutes ses étapes.
+     * @return Un CompletableFuture complété à la fin de l'action, ou de l'action en attente qui l'a absorbée.
+     */
+    public CompletableFuture<Void> submit(int hideoutId, ActionType type, Supplier<CompletableFuture<Void>> action) {
+        PendingAction pending = new PendingAction(type, action);
+        PendingAction[] queued = new PendingAction[1];
+        boolean[] start = new boolean[1];
+
+        // La file est créée, complétée ou supprimée uniquement sous le verrou de la table
+        mailboxes.compute(hideoutId, (id, current) -> {
+            Mailbox target = current == null ? new Mailbox() : current;
+            queued[0] = target.enqueue(pending);
+            start[0] = queued[0] == pending && !target.running;
+            if (start[0]) {
+                target.running = true;
+            }
+            return target;
+        });
+
+        if (start[0]) {
+            runNext(hideoutId);
+        }
+        return queued[0].future;
+    }
+
+    /**
+     * Indique si un hideout a une action en cours ou en attente.
+     *
+     * @param hideoutId L'identifiant du hideout.
+     * @return True si la file du hideout n'est pas vide, sinon False.
+     */
+    public boolean hasPendingActions(int hideoutId) {
+        return mailboxes.containsKey(hideoutId);
+    }
+
+    /**
+     * Retourne le nombre de hideouts ayant une action en cours ou en attente.
+     *
+     * @return Le nombre de files actives.
+     */
+    public int getActiveMailboxes() {
+        return mailboxes.size();
+    }
+
+    // Méthodes privées
+
+    /**
+     * Démarre les actions d'une file jusqu'à en trouver une qui n'est pas encore terminée, ou supprime la file
+     * si elle est vide. Les actions déjà terminées à leur retour (par exemple une réinitialisation synchrone)
+     * sont enchaînées dans la boucle plutôt que par appel récursif, pour ne pas empiler les appels.
+     */
+    private void runNext(int hideoutId) {
+        while (true) {
+            PendingAction[] next = new PendingAction[1];
+
+            mailboxes.computeIfPresent(hideoutId, (id, current) -> {
+                next[0] = current.actions.poll();
+                if (next[0] == null) {
+                    current.running = false;
+                    return null;
+                }
+                return current;
+            });
+
+            if (next[0] == null) {
+                return;
+            }
+
+            PendingAction action = next[0];
+            CompletableFuture<Void> result;
+            try {
+                result = action.supplier.get();
+            } catch (Throwable throwable) {
+                result = CompletableFuture.failedFuture(throwable);
+            }
+
+            if (!result.isDone()) {
+                result.whenComplete((ignored, throwable) -> {
+                    complete(action, throwable);
+                    runNext(hideoutId);
+                });
+                return;
+            }
+
+            // Déjà terminé : le rappel s'exécute immédiatement, dans ce thread
+            result.whenComplete((ignored, throwable) -> complete(action, throwable));
+        }
+    }
+
+    private static void complete(PendingAction action, Throwable throwable) {
+        if (throwable != null) {
+            action.future.completeExceptionally(throwable);
+        } else {
+            action.future.complete(null);
+        }
+    }
+
+    /**
+     * File d'un hideout. Modifiée uniquement sous le verrou de la table des files.
+     */
+    private static final class Mailbox {
+        private final Deque<PendingAction> actions = new ArrayDeque<>();
+        private boolean running;
+
+        /**
+         * Ajoute une action, sauf si la dernière action en attente la couvre déjà.
+         * Seule la dernière est comparée : une action plus ancienne s'exécuterait avant une amélioration,
+         * une réinitialisation ou une dissolution mise en file après elle, et l'appelant recevrait trop tôt
+         * un résultat antérieur à cette action.
+         *
+         * @return L'action ajoutée, ou l'action en attente qui la couvre.
+         */
+        private PendingAction enqueue(PendingAction pending) {
+            PendingAction last = actions.peekLast();
+            if (last != null && last.type.covers(pending.type)) {
+                return last;
+            }
+
+            actions.add(pending);
+            return pending;
+        }
+    }
+
+    /**
+     * Action en attente et le CompletableFuture rendu à ses appelants.
+     */
+    private static final class PendingAction {
+        private final ActionType type;
+        private final Supplier<CompletableFuture<Void>> supplier;
+        private final CompletableFuture<Void> future;
+
+        private PendingAction(ActionType type, Supplier<CompletableFuture<Void>> supplier) {
+            this.type = type;
+            this.supplier = supplier;
+            this.future = new CompletableFuture<>();
+        }
+    }
+}
@@ -3,30 +3,35 @@ package com.solandra.hideout.manager;
 import com.sk89q.worldedit.EditSession;
 import com.sk89q.worldedit.WorldEdit;
 import com.sk89q.worldedit.bukkit.BukkitAdapter;
-import com.sk89q.worldedit.extent.clipboard.Clipboard;
-import com.sk89q.worldedit.extent.clipboard.io.ClipboardFormat;
-import com.sk89q.worldedit.extent.clipboard.io.ClipboardFormats;
-import com.sk89q.worldedit.extent.clipboard.io.ClipboardReader;
 import com.sk89q.worldedit.function.operation.Operation;
 import com.sk89q.worldedit.function.operation.Operations;
-import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldedit.session.ClipboardHolder;
 import com.sk89q.worldedit.util.SideEffectSet;
 import com.solandra.hideout.Main;
 import com.solandra.hideout.database.HideoutDatabase;
+import com.solandra.hideout.manager.HideoutActionQueue.ActionType;
 import com.solandra.hideout.manager.builder.HideoutBuilder;
 import com.solandra.hideout.model.Hideout;
+import com.solandra.hideout.model.HideoutIndexEntry;
+import com.solandra.hideout.settings.Settings;
 import com.solandra.hideout.utils.Schematic;
+import net.brcdev.gangs.GangsPlugin;
+import net.brcdev.gangs.gang.Gang;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.Location;
 import org.bukkit.World;
 import org.mineacademy.fo.Common;
+import org.mineacademy.fo.exception.FoException;
 import org.mineacademy.fo.region.Region;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.IOException;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Gère les opérations liées aux hideouts, telles que le chargement, la création, la mise à jour,
@@ -38,9 +43,31 @@ public class HideoutManager {
     private static final String ERROR_PLACE_SCHEMATIC = "Failed to place schematic at region";
     private static final String ERROR_PLACE_SCHEMATIC_DETAILS = "Region: %s, File: %s";
     private static final String LOG_HIDEOUTS_LOADED = "Tous les hideouts ont été chargés en mémoire. (Count: %d)";
+    private static final String LOG_HIDEOUT_INDEX_LOADED = "L'index des hideouts a été chargé, les hideouts seront chargés à la demande. (Count: %d)";
+    private static final String ERROR_BUILDER_UNAVAILABLE = "Impossible de créer un nouveau hideout, la schématique du hideout n'a pas pu être chargée.";
 
     private final HideoutDatabase hideoutDatabase;
     private final Map<Integer, Hideout> hideoutCache;
+    private final ConcurrentMap<Integer, Long> lastAccessTimestamps;
+    private final ConcurrentMap<Integer, CompletableFuture<Optional<Hideout>>> pendingHydrations;
+
+    // Index de tous les hideouts connus, chargés ou non : lus sans verrou, écrits sous le verrou du gestionnaire
+    private final Map<Integer, HideoutIndexEntry> indexEntries;
+    private final Map<Integer, Integer> hideoutIdsByGangOwnerId;
+    private final Deque<Integer> freeHideoutIds;
+    private final HideoutSpatialIndex spatialIndex;
+    private final HideoutActionQueue actionQueue;
+
+    // Placement des nouveaux hideouts, prêt une fois les emplacements existants connus
+    private final CompletableFuture<Void> slotsLoaded;
+    private volatile HideoutBuilder hideoutBuilder;
+    private volatile HideoutSlotAllocator slotAllocator;
+
+    // Hideouts sans propriétaire en cours de construction, pas encore proposés aux nouveaux gangs
+    private final Set<Integer> warmingHideoutIds;
+    private final AtomicBoolean evictionScheduled;
+
+    private volatile boolean lazyLoading;
 
     /**
      * Initialise le gestionnaire de hideout en chargeant la base de données des hideouts
@@ -48,7 +75,17 @@ public class HideoutManager {
      */
     public HideoutManager() {
         this.hideoutDatabase = Main.getInstance().getHideoutDatabase();
-        this.hideoutCache = new HashMap<>();
+        this.hideoutCache = new ConcurrentHashMap<>();
+        this.lastAccessTimestamps = new ConcurrentHashMap<>();
+        this.pendingHydrations = new ConcurrentHashMap<>();
+        this.indexEntries = new ConcurrentHashMap<>();
+        this.hideoutIdsByGangOwnerId = new ConcurrentHashMap<>();
+        this.freeHideoutIds = new ConcurrentLinkedDeque<>();
+        this.spatialIndex = new HideoutSpatialIndex();
+        this.actionQueue = new HideoutActionQueue();
+        this.slotsLoaded = new CompletableFuture<>();
+        this.warmingHideoutIds = ConcurrentHashMap.newKeySet();
+        this.evictionScheduled = new AtomicBoolean();
     }
 
     /**
@@ -59,52 +96,137 @@ public class HideoutManager {
      *         et un boolean indiquant s'il s'agit d'un nouveau hideout.
      */
     public CompletableFuture<SimpleEntry<Hideout, Boolean>> loadOrCreateHideoutForGang(int gangOwnerId) {
-        return findUnusedHideout().thenCompose(optionalHideout -> {
+        return findUnusedHideout(gangOwnerId).thenCompose(optionalHideout -> {
             if (optionalHideout.isPresent()) {
                 Hideout hideout = optionalHideout.get();
-                hideout.setGangOwnerId(gangOwnerId);
 
-                updateHideout(hideout);
+                hideoutDatabase.updateHideout(hideout);
                 return CompletableFuture.completedFuture(new SimpleEntry<>(hideout, false));
             } else {
                 return calculateNewHideout().thenCompose(hideout -> {
                     hideout.setGangOwnerId(gangOwnerId);
-                    return addHideout(hideout).thenApply(h -> new SimpleEntry<>(h, true));
+                    return addHideout(hideout)
+                            .whenComplete((added, throwable) -> {
+                                // L'emplacement d'un hideout non enregistré est rendu à l'allocateur
+                                if (throwable != null) {
+                                    slotAllocator.release(hideout.getMainRegion().getPrimary());
+                                }
+                            })
+                            .thenApply(h -> new SimpleEntry<>(h, true));
                 });
             }
         });
     }
 
+    /**
+     * Charge les hideouts au démarrage du plugin : tous les hideouts, ou seulement leur index léger
+     * si le chargement à la demande est activé.
+     */
+    public void loadHideouts() {
+        this.lazyLoading = Boolean.TRUE.equals(Settings.HideoutCache.LAZY_LOADING);
+
+        HideoutBuilder builder = HideoutBuilder.fromSchematic();
+        if (builder != null) {
+            this.slotAllocator = new HideoutSlotAllocator(builder.getDimensions().getX(), builder.getDimensions().getZ());
+            this.hideoutBuilder = builder;
+        }
+
+        // Les hideouts dont la construction a été interrompue par un arrêt ne sont pas proposés aux gangs
+        hideoutDatabase.getUnbuiltHideoutIds()
+                .thenAccept(warmingHideoutIds::addAll)
+                .exceptionally(throwable -> {
+                    Common.throwError(throwable, "Impossible de lire les hideouts en cours de construction.");
+                    return null;
+                })
+                .thenRun(lazyLoading ? this::loadHideoutIndex : this::loadAllHideouts);
+    }
+
     /**
      * Charge tous les hideouts en mémoire lors du démarrage du plugin.
      */
     public void loadAllHideouts() {
         hideoutDatabase.getAllHideouts().thenAccept(hideouts -> {
-            hideouts.forEach(hideout -> hideoutCache.put(hideout.getId(), hideout));
+            hideouts.forEach(this::cacheHideout);
             Common.log(String.format(LOG_HIDEOUTS_LOADED, hideoutCache.size()));
-        });
+        }).whenComplete((result, throwable) -> slotsLoaded.complete(null));
+    }
+
+    /**
+     * Charge uniquement l'index léger de tous les hideouts, sans les désérialiser.
+     */
+    public void loadHideoutIndex() {
+        hideoutDatabase.getHideoutIndex().thenAccept(entries -> {
+            entries.forEach(this::indexEntry);
+            Common.log(String.format(LOG_HIDEOUT_INDEX_LOADED, indexEntries.size()));
+        }).whenComplete((result, throwable) -> slotsLoaded.complete(null));
     }
 
     /**
      * Récupère un hideout en mémoire en fonction de l'identifiant du gang propriétaire.
+     * Si le hideout n'est pas chargé, utilisez {@link #loadHideoutByGangOwnerId(int)}.
      *
      * @param gangOwnerId L'identifiant du gang associé au hideout à récupérer.
      * @return Un Optional contenant le hideout s'il est trouvé.
      */
     public Optional<Hideout> getHideoutByGangOwnerId(int gangOwnerId) {
-        return hideoutCache.values().stream()
-                .filter(hideout -> hideout.getGangOwnerId() == gangOwnerId)
-                .findFirst();
+        if (gangOwnerId == 0) {
+            return Optional.empty();
+        }
+
+        Integer hideoutId = hideoutIdsByGangOwnerId.get(gangOwnerId);
+        return hideoutId == null ? Optional.empty() : getHideoutById(hideoutId)
+                // Un changement de propriétaire pas encore passé par le gestionnaire rend l'entrée obsolète
+                .filter(hideout -> hideout.getGangOwnerId() == gangOwnerId);
     }
 
     /**
      * Récupère un hideout en mémoire en fonction de son identifiant.
+     * Si le hideout n'est pas chargé, utilisez {@link #loadHideoutById(int)}.
      *
      * @param id L'identifiant du hideout à récupérer.
      * @return Un Optional contenant le hideout s'il est trouvé.
      */
     public Optional<Hideout> getHideoutById(int id) {
-        return Optional.ofNullable(hideoutCache.get(id));
+        Hideout hideout = hideoutCache.get(id);
+        if (hideout != null && lazyLoading) {
+            lastAccessTimestamps.put(id, System.currentTimeMillis());
+        }
+        return Optional.ofNullable(hideout);
+    }
+
+    /**
+     * Récupère un hideout en fonction de l'identifiant du gang propriétaire, en le chargeant
+     * depuis la base de données s'il n'est pas en mémoire.
+     *
+     * @param gangOwnerId L'identifiant du gang associé au hideout à récupérer.
+     * @return Un CompletableFuture contenant un Optional avec le hideout s'il est trouvé.
+     */
+    public CompletableFuture<Optional<Hideout>> loadHideoutByGangOwnerId(int gangOwnerId) {
+        Integer hideoutId = gangOwnerId == 0 ? null : hideoutIdsByGangOwnerId.get(gangOwnerId);
+        if (hideoutId == null) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+
+        return loadHideoutById(hideoutId).thenApply(optional -> optional.filter(hideout -> hideout.getGangOwnerId() == gangOwnerId));
+    }
+
+    /**
+     * Récupère un hideout en fonction de son identifiant, en le chargeant depuis la base de données
+     * s'il n'est pas en mémoire. Les chargements simultanés d'un même hideout sont regroupés.
+     *
+     * @param id L'identifiant du hideout à récupérer.
+     * @return Un CompletableFuture contenant un Optional avec le hideout s'il est trouvé.
+     */
+    public CompletableFuture<Optional<Hideout>> loadHideoutById(int id) {
+        Optional<Hideout> cached = getHideoutById(id);
+        if (cached.isPresent() || !indexEntries.containsKey(id)) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        CompletableFuture<Optional<Hideout>> hydration = pendingHydrations.computeIfAbsent(id, key ->
+                hideoutDatabase.getHideout(key).thenApply(optional -> optional.map(this::cacheHideout)));
+        hydration.whenComplete((result, throwable) -> pendingHydrations.remove(id, hydration));
+        return hydration;
     }
 
     /**
@@ -116,8 +238,25 @@ public class HideoutManager {
     public CompletableFuture<Hideout> addHideout(Hideout hideout) {
         return hideoutDatabase.addHideout(hideout).thenApply(generatedId -> {
             hideout.setId(generatedId);
-            hideoutCache.put(generatedId, hideout);
-            return hideout;
+            return cacheHideout(hideout);
+        });
+    }
+
+    /**
+     * Ajoute plusieurs nouveaux hideouts en mémoire et les sauvegarde dans la base de données en une seule transaction.
+     *
+     * @param hideouts Les hideouts à ajouter.
+     * @return Un CompletableFuture contenant les hideouts ajoutés avec leur identifiant généré.
+     */
+    public CompletableFuture<List<Hideout>> addHideouts(List<Hideout> hideouts) {
+        return hideoutDatabase.addHideouts(hideouts).thenApply(generatedIds -> {
+            List<Hideout> added = new ArrayList<>(hideouts.size());
+            for (int i = 0; i < hideouts.size(); i++) {
+                Hideout hideout = hideouts.get(i);
+                hideout.setId(generatedIds.get(i));
+                added.add(cacheHideout(hideout));
+            }
+            return added;
         });
     }
 
@@ -128,78 +267,321 @@ public class HideoutManager {
      */
     public void updateHideout(Hideout hideout) {
         hideoutCache.put(hideout.getId(), hideout);
+        if (lazyLoading) {
+            lastAccessTimestamps.put(hideout.getId(), System.currentTimeMillis());
+        }
+
+        indexEntry(HideoutIndexEntry.of(hideout));
+        spatialIndex.index(hideout);
         hideoutDatabase.updateHideout(hideout);
     }
 
     /**
-     * Récupère tous les identifiants des hideouts actuellement en mémoire.
+     * Change le gang propriétaire d'un hideout, met à jour les index et sauvegarde le hideout.
+     * Un identifiant de 0 libère le hideout pour un prochain gang.
+     *
+     * @param hideout     Le hideout concerné.
+     * @param gangOwnerId L'identifiant du nouveau gang propriétaire, ou 0.
+     */
+    public void assignGangOwner(Hideout hideout, int gangOwnerId) {
+        hideout.setGangOwnerId(gangOwnerId);
+        updateHideout(hideout);
+    }
+
+    /**
+     * Libère le hideout d'un gang dissous, via la file d'actions du hideout : la schématique est recollée,
+     * la mine est remise au niveau zéro et remplie, puis le hideout est proposé à un prochain gang.
+     * Si une étape échoue, le hideout n'est pas libéré.
+     *
+     * @param hideout Le hideout du gang dissous.
+     * @return Un CompletableFuture complété une fois le hideout libéré.
+     */
+    public CompletableFuture<Void> disbandHideout(Hideout hideout) {
+        MineManager mineManager = Main.getInstance().getMineManager();
+
+        return actionQueue.submit(hideout.getId(), ActionType.DISBAND, () -> placeSchematicAtRegion(hideout.getMainRegion())
+                .thenCompose(ignored -> {
+                    // Le gang n'existe plus : la mine est remplie avec la distribution d'un hideout sans propriétaire
+                    hideout.setGangOwnerId(0);
+                    mineManager.applyMineReset(hideout);
+                    return mineManager.submitFill(hideout);
+                })
+                .thenRun(() -> assignGangOwner(hideout, 0)));
+    }
+
+    /**
+     * Retourne la file d'actions par hideout, par laquelle passent toutes les modifications d'un hideout et de sa mine.
+     *
+     * @return La file d'actions des hideouts.
+     */
+    public HideoutActionQueue getActionQueue() {
+        return actionQueue;
+    }
+
+    /**
+     * Enregistre un nouveau hideout sans propriétaire destiné à la réserve de hideouts préparés.
+     * Il n'est proposé aux nouveaux gangs qu'après l'appel à {@link #publishWarmHideout(Hideout)}.
+     *
+     * @return Un CompletableFuture contenant le hideout enregistré, ou null si la schématique n'a pas pu être chargée.
+     */
+    public CompletableFuture<Hideout> reserveWarmHideout() {
+        return calculateNewHideout().thenCompose(hideout -> {
+            if (hideout == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            return hideoutDatabase.addUnbuiltHideout(hideout)
+                    .thenApply(generatedId -> {
+                        hideout.setId(generatedId);
+                        warmingHideoutIds.add(generatedId);
+                        return cacheHideout(hideout);
+                    })
+                    .whenComplete((added, throwable) -> {
+                        if (throwable != null) {
+                            slotAllocator.release(hideout.getMainRegion().getPrimary());
+                        }
+                    });
+        });
+    }
+
+    /**
+     * Propose aux nouveaux gangs un hideout de la réserve dont la construction est terminée.
+     * Le hideout n'est proposé qu'une fois enregistré comme construit ; si l'écriture échoue, il reste en construction.
+     *
+     * @param hideout Le hideout construit.
+     * @return Un CompletableFuture indiquant la fin de l'opération, complété en erreur si l'écriture a échoué.
+     */
+    public CompletableFuture<Void> publishWarmHideout(Hideout hideout) {
+        return hideoutDatabase.markBuilt(hideout.getId()).thenRun(() -> {
+            synchronized (this) {
+                if (warmingHideoutIds.remove(hideout.getId()) && hideout.getGangOwnerId() == 0) {
+                    freeHideoutIds.add(hideout.getId());
+                }
+            }
+        });
+    }
+
+    /**
+     * Retourne les hideouts de la réserve dont la construction n'est pas terminée, une fois les hideouts chargés.
+     * Au démarrage, ce sont ceux dont la construction a été interrompue par l'arrêt du serveur.
+     *
+     * @return Un CompletableFuture contenant les identifiants des hideouts à construire.
+     */
+    public CompletableFuture<List<Integer>> getUnbuiltHideoutIds() {
+        return slotsLoaded.thenApply(ignored -> new ArrayList<>(warmingHideoutIds));
+    }
+
+    /**
+     * Retourne le nombre de hideouts libres prêts à être attribués.
+     *
+     * @return Le nombre de hideouts libres.
+     */
+    public int getFreeHideoutCount() {
+        return freeHideoutIds.size();
+    }
+
+    /**
+     * Retourne l'index spatial permettant de retrouver le hideout ou la mine contenant une position.
+     *
+     * @return L'index spatial des hideouts.
+     */
+    public HideoutSpatialIndex getSpatialIndex() {
+        return spatialIndex;
+    }
+
+    /**
+     * Récupère les identifiants de tous les hideouts connus, chargés en mémoire ou non.
      *
      * @return Une liste des identifiants de tous les hideouts.
      */
     public List<Integer> getAllHideoutIds() {
-        return new ArrayList<>(hideoutCache.keySet());
+        return new ArrayList<>(indexEntries.keySet());
     }
 
     /**
-     * Place une schématique dans la région spécifiée de manière asynchrone.
+     * Place une schématique dans la région spécifiée via l'exécuteur des éditions.
+     * Le CompletableFuture échoue avec une RejectedExecutionException si la file des éditions est pleine,
+     * et en erreur si la schématique est absente ou illisible.
      *
      * @param region La région où placer la schématique.
      * @return Un CompletableFuture indiquant la fin de l'opération.
      */
     public CompletableFuture<Void> placeSchematicAtRegion(Region region) {
-        return CompletableFuture.runAsync(() -> {
+        Location anchor = region.getPrimary();
+        return Main.getInstance().getEditSessionExecutor().submit(anchor.getWorld(), anchor.getBlockX(), anchor.getBlockZ(), () -> {
             File schematicFile = Schematic.getHideout();
 
-            ClipboardFormat clipboardFormat = ClipboardFormats.findByFile(schematicFile);
-            if (clipboardFormat == null) {
-                Common.throwError(new NullPointerException(), ERROR_PLACE_SCHEMATIC, String.format(ERROR_PLACE_SCHEMATIC_DETAILS, region, schematicFile.getPath()));
-                return;
-            }
+            // Le clipboard emprunté a déjà son origine en son centre et n'est que lu pendant le collage
+            try (SchematicCache.Lease schematic = Main.getInstance().getSchematicCache().acquire(schematicFile)) {
+                if (schematic == null) {
+                    // L'échec doit atteindre l'appelant : un hideout non collé ne doit être ni publié ni libéré
+                    throw new FoException(ERROR_PLACE_SCHEMATIC + " (" + String.format(ERROR_PLACE_SCHEMATIC_DETAILS, region, schematicFile.getPath()) + ")");
+                }
 
-            try (EditSession editSession = createEditSession(region.getWorld());
-                 ClipboardReader clipboardReader = clipboardFormat.getReader(new FileInputStream(schematicFile))) {
+                try (EditSession editSession = createEditSession(region.getWorld())) {
+                    Operation operation = new ClipboardHolder(schematic.getClipboard())
+                            .createPaste(editSession)
+                            .ignoreAirBlocks(true)
+                            .to(BukkitAdapter.asBlockVector(region.getCenter()))
+                            .build();
 
-                 Clipboard clipboard = clipboardReader.read();
-                 BlockVector3 clipboardCenter = clipboard.getRegion().getCenter().toBlockPoint();
-                 clipboard.setOrigin(clipboardCenter);
+                    Operations.completeBlindly(operation);
+                }
+            }
+        });
+    }
 
-                 Operation operation = new ClipboardHolder(clipboard)
-                        .createPaste(editSession)
-                        .ignoreAirBlocks(true)
-                        .to(BukkitAdapter.asBlockVector(region.getCenter()))
-                        .build();
+    /**
+     * Calcule un nouveau Hideout sur un emplacement libre réservé en mémoire, sans requête à la base de données.
+     * Attend que les emplacements des hideouts existants soient connus.
+     *
+     * @return Un CompletableFuture contenant le nouveau Hideout, ou null si la schématique n'a pas pu être chargée.
+     */
+    public CompletableFuture<Hideout> calculateNewHideout() {
+        return slotsLoaded.thenApply(ignored -> {
+            HideoutBuilder builder = hideoutBuilder;
+            if (builder == null) {
+                Common.throwError(new IllegalStateException(), ERROR_BUILDER_UNAVAILABLE);
+                return null;
+            }
 
-                 Operations.completeBlindly(operation);
+            return builder.buildNewHideout(slotAllocator.reserve(builder.getWorld()));
+        });
+    }
 
-            } catch (IOException exception) {
-                Common.throwError(exception, ERROR_PLACE_SCHEMATIC, String.format(ERROR_PLACE_SCHEMATIC_DETAILS, region, schematicFile.getPath()));
+    // Méthodes privées
+    /**
+     * Réserve un hideout non utilisé, c'est-à-dire un hideout dont le gangOwnerId est égal à 0,
+     * et l'attribue immédiatement au gang pour qu'aucun autre gang ne puisse le réserver.
+     *
+     * @param gangOwnerId L'identifiant du gang qui réserve le hideout.
+     * @return Un CompletableFuture contenant un Optional avec le hideout réservé, s'il est trouvé.
+     */
+    private CompletableFuture<Optional<Hideout>> findUnusedHideout(int gangOwnerId) {
+        Integer hideoutId = freeHideoutIds.poll();
+        if (hideoutId == null) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+
+        // Les entrées devenues obsolètes (hideout réattribué sans passer par le gestionnaire) sont ignorées,
+        // et le compare-and-set garantit qu'un hideout libre n'est réservé que par un seul gang
+        return loadHideoutById(hideoutId).thenCompose(optional -> {
+            if (optional.isPresent() && optional.get().compareAndSetGangOwnerId(0, gangOwnerId)) {
+                indexEntry(HideoutIndexEntry.of(optional.get()));
+                return CompletableFuture.completedFuture(optional);
             }
+            return findUnusedHideout(gangOwnerId);
         });
     }
 
     /**
-     * Calcule un nouveau Hideout en fonction de la dernière région utilisée.
+     * Place un hideout chargé dans le cache et dans les index. Si le hideout est déjà en mémoire
+     * (chargement concurrent), l'instance existante est conservée.
      *
-     * @return Un CompletableFuture contenant le nouveau Hideout.
+     * @param hideout Le hideout chargé.
+     * @return L'instance gardée en mémoire.
      */
+    private Hideout cacheHideout(Hideout hideout) {
+        Hideout existing = hideoutCache.putIfAbsent(hideout.getId(), hideout);
+        if (existing != null) {
+            return existing;
+        }
 
-    public CompletableFuture<Hideout> calculateNewHideout() {
-        return hideoutDatabase.getLastHideout().thenApply(lastHideout -> {
-            HideoutBuilder builder = new HideoutBuilder();
-            return builder.buildNewHideout(lastHideout.get());
-        });
+        indexEntry(HideoutIndexEntry.of(hideout));
+        spatialIndex.index(hideout);
+        Main.getInstance().getMineManager().resumeTracking(hideout);
+
+        if (lazyLoading) {
+            lastAccessTimestamps.put(hideout.getId(), System.currentTimeMillis());
+            scheduleEviction();
+        }
+        return hideout;
+    }
+
+    /**
+     * Met à jour les index d'un hideout après un changement de propriétaire.
+     * Un hideout qui devient libre est ajouté à la file des hideouts libres.
+     *
+     * @param entry L'entrée d'index du hideout.
+     */
+    private synchronized void indexEntry(HideoutIndexEntry entry) {
+        int gangOwnerId = entry.getGangOwnerId();
+        HideoutIndexEntry previous = indexEntries.put(entry.getId(), entry);
+
+        if (previous == null && slotAllocator != null) {
+            slotAllocator.markOccupied(entry.getSlotX(), entry.getSlotZ());
+        }
+
+        if (previous != null && previous.getGangOwnerId() == gangOwnerId) {
+            return;
+        }
+
+        if (previous != null && previous.getGangOwnerId() != 0) {
+            hideoutIdsByGangOwnerId.remove(previous.getGangOwnerId(), entry.getId());
+        }
+
+        if (gangOwnerId == 0) {
+            if (!warmingHideoutIds.contains(entry.getId())) {
+                freeHideoutIds.add(entry.getId());
+            }
+        } else {
+            hideoutIdsByGangOwnerId.put(gangOwnerId, entry.getId());
+        }
+    }
+
+    /**
+     * Planifie le nettoyage du cache sur le thread principal, où l'état des gangs et des joueurs peut être lu.
+     * Plusieurs demandes avant le nettoyage n'en donnent qu'un.
+     */
+    private void scheduleEviction() {
+        if (evictionScheduled.compareAndSet(false, true)) {
+            Common.runLater(() -> {
+                evictionScheduled.set(false);
+                evictIdleHideouts();
+            });
+        }
+    }
+
+    /**
+     * Retire du cache les hideouts utilisés le moins récemment, tant que le cache dépasse la taille configurée.
+     * Les hideouts dont un membre du gang est en ligne, qui ont une action en cours ou en attente, ou dont la
+     * construction n'est pas terminée ne sont jamais retirés : une action en cours sauvegarderait sinon son
+     * instance après le rechargement d'une autre. Les hideouts retirés restent dans l'index léger et seront
+     * rechargés à la prochaine demande. Appelé sur le thread principal.
+     */
+    private synchronized void evictIdleHideouts() {
+        int maxLoaded = Math.max(1, Settings.HideoutCache.MAX_LOADED);
+        if (hideoutCache.size() <= maxLoaded) {
+            return;
+        }
+
+        PriorityQueue<Map.Entry<Integer, Long>> leastRecentlyUsed = new PriorityQueue<>(Map.Entry.comparingByValue());
+        lastAccessTimestamps.forEach((hideoutId, lastAccess) -> leastRecentlyUsed.add(new SimpleEntry<>(hideoutId, lastAccess)));
+
+        while (hideoutCache.size() > maxLoaded && !leastRecentlyUsed.isEmpty()) {
+            int hideoutId = leastRecentlyUsed.poll().getKey();
+            Hideout hideout = hideoutCache.get(hideoutId);
+
+            if (hideout != null
+                    && !actionQueue.hasPendingActions(hideoutId)
+                    && !warmingHideoutIds.contains(hideoutId)
+                    && !hasOnlineMembers(hideout)) {
+                hideoutCache.remove(hideoutId, hideout);
+                lastAccessTimestamps.remove(hideoutId);
+                spatialIndex.remove(hideoutId);
+            }
+        }
     }
 
-    // Méthodes privées
     /**
-     * Recherche un hideout non utilisé, c'est-à-dire un hideout dont le gangOwnerId est égal à 0.
+     * Vérifie si le gang propriétaire du hideout a au moins un membre en ligne.
      *
-     * @return Un CompletableFuture contenant un Optional avec le hideout non utilisé, s'il est trouvé.
+     * @param hideout Le hideout à vérifier.
+     * @return True si un membre du gang est en ligne, sinon False.
      */
-    private CompletableFuture<Optional<Hideout>> findUnusedHideout() {
-        return CompletableFuture.supplyAsync(() -> hideoutCache.values().stream()
-                .filter(hideout -> hideout.getGangOwnerId() == 0)
-                .findFirst());
+    private boolean hasOnlineMembers(Hideout hideout) {
+        Gang gang = hideout.getGangOwnerId() == 0 ? null : GangsPlugin.getInstance().getGangManager().getGang(hideout.getGangOwnerId());
+        return gang != null && gang.getAllMembers().stream().anyMatch(OfflinePlayer::isOnline);
     }
 
     /**
@@ -0,0 +1,147 @@
+package com.solandra.hideout.manager;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Répartit les nouveaux hideouts sur une grille en mémoire, sans passer par la base de données.
+ * Le pas de la grille est un multiple de la taille d'un fichier région (512 blocs) : chaque hideout commence
+ * sur le bord d'un fichier région et garde au moins {@value #MIN_SPACING} blocs d'écart avec ses voisins.
+ * Les cases sont attribuées en spirale autour de l'origine, pour garder les hideouts regroupés,
+ * et les cases libérées sont réattribuées en priorité. Toutes les opérations sont atomiques.
+ */
+public class HideoutSlotAllocator {
+    private static final int REGION_FILE_SIZE = 512;
+    private static final int MIN_SPACING = 300;
+
+    private final int sizeX;
+    private final int sizeZ;
+    private final int pitchX;
+    private final int pitchZ;
+
+    private final Set<Long> occupiedCells;
+    private final Deque<Long> releasedCells;
+    private int nextSpiralIndex;
+
+    /**
+     * Crée l'allocateur pour des hideouts de la taille donnée.
+     *
+     * @param sizeX La taille d'un hideout sur l'axe X.
+     * @param sizeZ La taille d'un hideout sur l'axe Z.
+     */
+    public HideoutSlotAllocator(int sizeX, int sizeZ) {
+        this.sizeX = sizeX;
+        this.sizeZ = sizeZ;
+        this.pitchX = roundUpToRegionFile(sizeX + MIN_SPACING);
+        this.pitchZ = roundUpToRegionFile(sizeZ + MIN_SPACING);
+        this.occupiedCells = new HashSet<>();
+        this.releasedCells = new ArrayDeque<>();
+    }
+
+    /**
+     * Réserve une case libre et retourne le coin primaire du futur hideout.
+     *
+     * @param world Le monde des hideouts.
+     * @return Le coin primaire de la case réservée.
+     */
+    public synchronized Location reserve(World world) {
+        Long cell = releasedCells.poll();
+
+        while (cell == null) {
+            long candidate = spiralCell(nextSpiralIndex++);
+            if (!occupiedCells.contains(candidate)) {
+                cell = candidate;
+            }
+        }
+
+        occupiedCells.add(cell);
+        return new Location(world, (double) cellX(cell) * pitchX, 0, (double) cellZ(cell) * pitchZ);
+    }
+
+    /**
+     * Libère la case d'un hideout qui n'a finalement pas été créé, pour qu'elle soit réattribuée en priorité.
+     *
+     * @param primary Le coin primaire retourné par {@link #reserve(World)}.
+     */
+    public synchronized void release(Location primary) {
+        int blockX = primary.getBlockX();
+        int blockZ = primary.getBlockZ();
+        if (Math.floorMod(blockX, pitchX) != 0 || Math.floorMod(blockZ, pitchZ) != 0) {
+            return;
+        }
+
+        long cell = cellKey(Math.floorDiv(blockX, pitchX), Math.floorDiv(blockZ, pitchZ));
+        if (occupiedCells.remove(cell)) {
+            releasedCells.addFirst(cell);
+        }
+    }
+
+    /**
+     * Marque comme occupées les cases trop proches d'un hideout existant.
+     * Un hideout aligné sur la grille n'occupe que sa case. Les hideouts placés avant la grille
+     * (alignés sur l'axe X) peuvent en bloquer plusieurs.
+     *
+     * @param primaryX La coordonnée X du coin primaire du hideout.
+     * @param primaryZ La coordonnée Z du coin primaire du hideout.
+     */
+    public synchronized void markOccupied(int primaryX, int primaryZ) {
+        int minCellX = Math.floorDiv(primaryX - sizeX - MIN_SPACING, pitchX) + 1;
+        int maxCellX = Math.floorDiv(primaryX + sizeX + MIN_SPACING - 1, pitchX);
+        int minCellZ = Math.floorDiv(primaryZ - sizeZ - MIN_SPACING, pitchZ) + 1;
+        int maxCellZ = Math.floorDiv(primaryZ + sizeZ + MIN_SPACING - 1, pitchZ);
+
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                long cell = cellKey(cellX, cellZ);
+                occupiedCells.add(cell);
+                releasedCells.remove(cell);
+            }
+        }
+    }
+
+    // Méthodes privées
+
+    /**
+     * Retourne la case d'index donné dans une spirale carrée partant de l'origine.
+     * L'anneau k contient les index (2k - 1)² à (2k + 1)² - 1.
+     */
+    private static long spiralCell(int index) {
+        if (index == 0) {
+            return cellKey(0, 0);
+        }
+
+        int ring = (int) Math.ceil((Math.sqrt(index + 1) - 1) / 2);
+        int side = 2 * ring;
+        int offset = index - (2 * ring - 1) * (2 * ring - 1);
+
+        if (offset < side) {
+            return cellKey(ring, -ring + 1 + offset);
+        } else if (offset < 2 * side) {
+            return cellKey(ring - 1 - (offset - side), ring);
+        } else if (offset < 3 * side) {
+            return cellKey(-ring, ring - 1 - (offset - 2 * side));
+        }
+        return cellKey(-ring + 1 + (offset - 3 * side), -ring);
+    }
+
+    private static int roundUpToRegionFile(int blocks) {
+        return Math.max(1, (blocks + REGION_FILE_SIZE - 1) / REGION_FILE_SIZE) * REGION_FILE_SIZE;
+    }
+
+    private static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    private static int cellX(long cell) {
+        return (int) (cell >> 32);
+    }
+
+    private static int cellZ(long cell) {
+        return (int) cell;
+    }
+}
@@ -0,0 +1,361 @@
+package com.solandra.hideout.manager;
+
+import com.solandra.hideout.model.Hideout;
+import com.solandra.hideout.utils.CuboidBounds;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Index spatial des hideouts, par chunk.
+ * Chaque chunk couvert par la région principale ou la mine d'un hideout pointe vers ce hideout, dans une table
+ * à adressage ouvert indexée par les coordonnées du chunk compactées dans un long.
+ * Les recherches ne créent aucun objet et passent par une lecture optimiste : elles conviennent aux listeners
+ * appelés très souvent (casse de blocs, déplacements, interactions). Les écritures sont rares (création,
+ * amélioration de mine) et prennent le verrou exclusif.
+ */
+public class HideoutSpatialIndex {
+    private static final int CHUNK_SHIFT = 4;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    private final StampedLock lock;
+    private final Map<Integer, Entry> entriesByHideoutId;
+
+    // Table à adressage ouvert (sondage linéaire), une case est vide si sa valeur est null
+    private long[] keys;
+    private Entry[][] values;
+    private int size;
+
+    public HideoutSpatialIndex() {
+        this.lock = new StampedLock();
+        this.entriesByHideoutId = new HashMap<>();
+        this.keys = new long[INITIAL_CAPACITY];
+        this.values = new Entry[INITIAL_CAPACITY][];
+    }
+
+    /**
+     * Ajoute ou met à jour un hideout dans l'index. Sans effet si ses régions n'ont pas changé.
+     *
+     * @param hideout Le hideout à indexer.
+     */
+    public void index(Hideout hideout) {
+        Location anchor = hideout.getMainRegion().getPrimary();
+        CuboidBounds mainBounds = CuboidBounds.of(hideout.getMainRegion());
+        CuboidBounds mineBounds = CuboidBounds.of(hideout.getMine().getRegion());
+        Entry entry = new Entry(hideout, anchor.getWorld().getUID(), mainBounds, mineBounds);
+
+        long stamp = lock.writeLock();
+        try {
+            Entry previous = entriesByHideoutId.get(hideout.getId());
+            if (previous != null && previous.sameArea(entry)) {
+                return;
+            }
+
+            if (previous != null) {
+                unlink(previous);
+            }
+            link(entry);
+            entriesByHideoutId.put(hideout.getId(), entry);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Retire un hideout de l'index.
+     *
+     * @param hideoutId L'identifiant du hideout.
+     */
+    public void remove(int hideoutId) {
+        long stamp = lock.writeLock();
+        try {
+            Entry previous = entriesByHideoutId.remove(hideoutId);
+            if (previous != null) {
+                unlink(previous);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Retourne le hideout dont la région principale contient la position.
+     *
+     * @param location La position à tester.
+     * @return Le hideout, ou null si la position n'appartient à aucun hideout.
+     */
+    public Hideout getHideoutAt(Location location) {
+        return getHideoutAt(location.getWorld(), location.getBlockX(), location.getBlockY(), location.getBlockZ());
+    }
+
+    /**
+     * Retourne le hideout dont la région principale contient la position.
+     *
+     * @return Le hideout, ou null si la position n'appartient à aucun hideout.
+     */
+    public Hideout getHideoutAt(World world, int x, int y, int z) {
+        return find(world, x, y, z, false);
+    }
+
+    /**
+     * Retourne le hideout dont la mine contient la position.
+     *
+     * @param location La position à tester.
+     * @return Le hideout, ou null si la position n'appartient à aucune mine.
+     */
+    public Hideout getHideoutWithMineAt(Location location) {
+        return getHideoutWithMineAt(location.getWorld(), location.getBlockX(), location.getBlockY(), location.getBlockZ());
+    }
+
+    /**
+     * Retourne le hideout dont la mine contient la position.
+     *
+     * @return Le hideout, ou null si la position n'appartient à aucune mine.
+     */
+    public Hideout getHideoutWithMineAt(World world, int x, int y, int z) {
+        return find(world, x, y, z, true);
+    }
+
+    // Méthodes privées
+
+    /**
+     * Recherche l'entrée contenant la position, d'abord par lecture optimiste puis sous verrou partagé
+     * si une écriture a eu lieu pendant la lecture.
+     */
+    private Hideout find(World world, int x, int y, int z, boolean mineOnly) {
+        if (world == null) {
+            return null;
+        }
+
+        UUID worldId = world.getUID();
+        long key = chunkKey(x >> CHUNK_SHIFT, z >> CHUNK_SHIFT);
+
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            Hideout hideout = findUnlocked(worldId, key, x, y, z, mineOnly);
+            if (lock.validate(stamp)) {
+                return hideout;
+            }
+        }
+
+        stamp = lock.readLock();
+        try {
+            return findUnlocked(worldId, key, x, y, z, mineOnly);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Parcourt la table sans verrou. Pendant une lecture optimiste, une écriture concurrente peut laisser voir
+     * une case ou une entrée encore nulle : la recherche s'arrête alors sans résultat, et la validation
+     * du tampon qui suit échoue et relance la recherche sous verrou partagé.
+     */
+    private Hideout findUnlocked(UUID worldId, long key, int x, int y, int z, boolean mineOnly) {
+        long[] currentKeys = keys;
+        Entry[][] currentValues = values;
+        if (currentKeys == null || currentValues == null || currentKeys.length != currentValues.length) {
+            return null;
+        }
+
+        int mask = currentKeys.length - 1;
+        int slot = mix(key) & mask;
+
+        // Le nombre de sondages est borné pour qu'une lecture optimiste concurrente ne boucle jamais
+        for (int probes = 0; probes <= mask; probes++) {
+            Entry[] cell = currentValues[slot];
+            if (cell == null) {
+                return null;
+            }
+
+            if (currentKeys[slot] == key) {
+                for (Entry entry : cell) {
+                    if (entry == null) {
+                        return null;
+                    }
+                    if (entry.worldId.equals(worldId)
+                            && (mineOnly ? entry.mineBounds : entry.mainBounds).contains(x, y, z)) {
+                        return entry.hideout;
+                    }
+                }
+                return null;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        return null;
+    }
+
+    /**
+     * Ajoute une entrée dans chaque chunk couvert par ses régions. Appelé sous verrou exclusif.
+     */
+    private void link(Entry entry) {
+        CuboidBounds area = entry.area;
+        for (int chunkX = area.getMinX() >> CHUNK_SHIFT; chunkX <= area.getMaxX() >> CHUNK_SHIFT; chunkX++) {
+            for (int chunkZ = area.getMinZ() >> CHUNK_SHIFT; chunkZ <= area.getMaxZ() >> CHUNK_SHIFT; chunkZ++) {
+                long key = chunkKey(chunkX, chunkZ);
+                Entry[] cell = get(key);
+                Entry[] updated = new Entry[cell.length + 1];
+                System.arraycopy(cell, 0, updated, 0, cell.length);
+                updated[cell.length] = entry;
+                put(key, updated);
+            }
+        }
+    }
+
+    /**
+     * Retire une entrée de chaque chunk couvert par ses régions. Appelé sous verrou exclusif.
+     */
+    private void unlink(Entry entry) {
+        CuboidBounds area = entry.area;
+        for (int chunkX = area.getMinX() >> CHUNK_SHIFT; chunkX <= area.getMaxX() >> CHUNK_SHIFT; chunkX++) {
+            for (int chunkZ = area.getMinZ() >> CHUNK_SHIFT; chunkZ <= area.getMaxZ() >> CHUNK_SHIFT; chunkZ++) {
+                long key = chunkKey(chunkX, chunkZ);
+                Entry[] cell = get(key);
+                Entry[] updated = new Entry[cell.length];
+                int count = 0;
+
+                for (Entry current : cell) {
+                    if (current != entry) {
+                        updated[count++] = current;
+                    }
+                }
+
+                if (count == 0) {
+                    delete(key);
+                } else if (count < cell.length) {
+                    Entry[] trimmed = new Entry[count];
+                    System.arraycopy(updated, 0, trimmed, 0, count);
+                    put(key, trimmed);
+                }
+            }
+        }
+    }
+
+    private Entry[] get(long key) {
+        int mask = keys.length - 1;
+        for (int slot = mix(key) & mask; values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+        }
+        return NO_ENTRIES;
+    }
+
+    private void put(long key, Entry[] cell) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                values[slot] = cell;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = cell;
+
+        // Facteur de charge maximal de 0,5
+        if (++size * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+    }
+
+    /**
+     * Supprime une clé par décalage arrière, sans marqueur de suppression.
+     */
+    private void delete(long key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+
+        while (values[slot] != null && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        if (values[slot] == null) {
+            return;
+        }
+
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (values[next] != null) {
+            int ideal = mix(keys[next]) & mask;
+            // L'élément peut combler le trou si sa position idéale n'est pas entre le trou (exclu) et lui-même
+            if (((next - ideal) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+
+        keys[hole] = 0;
+        values[hole] = null;
+        size--;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        Entry[][] oldValues = values;
+        long[] newKeys = new long[capacity];
+        Entry[][] newValues = new Entry[capacity][];
+        int mask = capacity - 1;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = mix(oldKeys[i]) & mask;
+                while (newValues[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                newKeys[slot] = oldKeys[i];
+                newValues[slot] = oldValues[i];
+            }
+        }
+
+        // Les lectures optimistes détectent une taille différente entre les deux tableaux pendant l'échange
+        keys = newKeys;
+        values = newValues;
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private static int mix(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    /**
+     * Hideout indexé, avec les bornes de ses régions figées au moment de l'indexation.
+     */
+    private static final class Entry {
+        private final Hideout hideout;
+        private final UUID worldId;
+        private final CuboidBounds mainBounds;
+        private final CuboidBounds mineBounds;
+        private final CuboidBounds area;
+
+        private Entry(Hideout hideout, UUID worldId, CuboidBounds mainBounds, CuboidBounds mineBounds) {
+            this.hideout = hideout;
+            this.worldId = worldId;
+            this.mainBounds = mainBounds;
+            this.mineBounds = mineBounds;
+            this.area = new CuboidBounds(
+                    Math.min(mainBounds.getMinX(), mineBounds.getMinX()), 0, Math.min(mainBounds.getMinZ(), mineBounds.getMinZ()),
+                    Math.max(mainBounds.getMaxX(), mineBounds.getMaxX()), 0, Math.max(mainBounds.getMaxZ(), mineBounds.getMaxZ()));
+        }
+
+        private boolean sameArea(Entry other) {
+            return hideout == other.hideout && worldId.equals(other.worldId)
+                    && mainBounds.equals(other.mainBounds) && mineBounds.equals(other.mineBounds);
+        }
+    }
+}
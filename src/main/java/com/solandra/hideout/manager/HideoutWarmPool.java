@@ -0,0 +1,138 @@
+package com.solandra.hideout.manager;
+
+import com.solandra.hideout.Main;
+import com.solandra.hideout.model.Hideout;
+import com.solandra.hideout.settings.Settings;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+import org.mineacademy.fo.Common;
+
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Réserve de hideouts construits à l'avance, sans propriétaire.
+ * Une tâche périodique vérifie le nombre de hideouts libres et, lorsque les files d'édition et de
+ * réinitialisation sont vides, construit un hideout de plus : collage de la schématique puis remplissage
+ * de la mine. Le hideout n'est proposé aux nouveaux gangs qu'une fois entièrement construit, la création
+ * d'un gang se limite alors à l'attribution du hideout et à la téléportation.
+ */
+public class HideoutWarmPool {
+    private static final long TICKS_PER_SECOND = 20L;
+
+    // Messages constants
+    private static final String LOG_HIDEOUT_WARMED = "Un hideout a été préparé à l'avance. (ID: %d, Libres: %d)";
+    private static final String ERROR_WARM_HIDEOUT = "Impossible de préparer le hideout %d, nouvel essai plus tard.";
+
+    // Hideouts enregistrés dont la construction a échoué, repris en priorité
+    private final Deque<Hideout> unfinishedHideouts;
+    private final AtomicBoolean building;
+    private BukkitTask task;
+
+    public HideoutWarmPool() {
+        this.unfinishedHideouts = new ConcurrentLinkedDeque<>();
+        this.building = new AtomicBoolean();
+    }
+
+    /**
+     * Démarre la tâche de remplissage de la réserve et reprend les constructions interrompues par un arrêt.
+     * La tâche tourne même sans taille configurée, pour terminer ces constructions.
+     * Sans effet si la tâche tourne déjà.
+     */
+    public void start() {
+        if (task != null && !task.isCancelled()) {
+            return;
+        }
+
+        HideoutManager hideoutManager = Main.getInstance().getHideoutManager();
+        hideoutManager.getUnbuiltHideoutIds().thenAccept(ids -> ids.forEach(id ->
+                hideoutManager.loadHideoutById(id).thenAccept(hideout -> hideout.ifPresent(unfinishedHideouts::add))));
+
+        long period = Math.max(1, Settings.WarmPool.CHECK_INTERVAL_SECONDS) * TICKS_PER_SECOND;
+        task = Bukkit.getScheduler().runTaskTimer(Main.getInstance(), this::tick, period, period);
+    }
+
+    /**
+     * Arrête la tâche de remplissage de la réserve. Une construction en cours se termine normalement.
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * Retourne le nombre de hideouts libres à garder prêts.
+     *
+     * @return La taille configurée de la réserve.
+     */
+    public int getTargetSize() {
+        return Settings.WarmPool.SIZE == null ? 0 : Settings.WarmPool.SIZE;
+    }
+
+    // Méthodes privées
+
+    /**
+     * Lance la construction d'un hideout si la réserve n'est pas pleine, qu'aucune construction
+     * n'est en cours et que le serveur est calme.
+     */
+    private void tick() {
+        HideoutManager hideoutManager = Main.getInstance().getHideoutManager();
+        if (unfinishedHideouts.isEmpty() && hideoutManager.getFreeHideoutCount() >= getTargetSize()) {
+            return;
+        }
+
+        if (!isQuiet() || !building.compareAndSet(false, true)) {
+            return;
+        }
+
+        Hideout unfinished = unfinishedHideouts.poll();
+        CompletableFuture<Hideout> hideoutFuture = unfinished != null
+                ? CompletableFuture.completedFuture(unfinished)
+                : hideoutManager.reserveWarmHideout();
+
+        hideoutFuture.thenCompose(hideout -> hideout == null
+                        ? CompletableFuture.completedFuture(null)
+                        : build(hideoutManager, hideout))
+                .whenComplete((result, throwable) -> building.set(false));
+    }
+
+    /**
+     * Colle la schématique puis remplit la mine d'un hideout, avant de le proposer aux nouveaux gangs.
+     * En cas d'échec, le hideout est gardé pour un nouvel essai, sauf s'il a été attribué à un gang entre-temps.
+     * Un hideout déjà attribué n'est jamais reconstruit : il est seulement enregistré comme construit.
+     */
+    private CompletableFuture<Void> build(HideoutManager hideoutManager, Hideout hideout) {
+        if (hideout.getGangOwnerId() != 0) {
+            return hideoutManager.publishWarmHideout(hideout);
+        }
+
+        MineManager mineManager = Main.getInstance().getMineManager();
+
+        return hideoutManager.placeSchematicAtRegion(hideout.getMainRegion())
+                .thenCompose(ignored -> mineManager.fillWithBlocks(hideout))
+                .thenCompose(ignored -> hideoutManager.publishWarmHideout(hideout))
+                .thenRun(() -> Common.log(String.format(LOG_HIDEOUT_WARMED, hideout.getId(), hideoutManager.getFreeHideoutCount())))
+                .exceptionally(throwable -> {
+                    if (hideout.getGangOwnerId() == 0) {
+                        unfinishedHideouts.add(hideout);
+                    }
+                    Common.throwError(throwable, String.format(ERROR_WARM_HIDEOUT, hideout.getId()));
+                    return null;
+                });
+    }
+
+    /**
+     * Vérifie qu'aucune édition ni aucune réinitialisation de mine n'est en attente.
+     *
+     * @return True si le serveur est calme, sinon False.
+     */
+    private boolean isQuiet() {
+        EditSessionExecutor editExecutor = Main.getInstance().getEditSessionExecutor();
+        MineResetScheduler resetScheduler = Main.getInstance().getMineManager().getResetScheduler();
+        return editExecutor.getPendingEdits() == 0 && resetScheduler.getQueueDepth() == 0;
+    }
+}
@@ -2,11 +2,26 @@ package com.solandra.hideout.manager;
 
 import com.sk89q.worldedit.world.block.BlockType;
 import com.sk89q.worldedit.world.block.BlockTypes;
+import com.solandra.hideout.settings.Settings;
+import org.mineacademy.fo.Common;
+import org.mineacademy.fo.collection.SerializedMap;
+import org.mineacademy.fo.exception.FoException;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
+/**
+ * Distributions de blocs des mines, compilées une seule fois par niveau en {@link MineBlockTable} immuables.
+ * Un niveau défini dans la configuration remplace la distribution calculée par défaut.
+ * Le rechargement remplace l'ensemble des tables en une seule écriture : les remplissages en cours
+ * conservent la table qu'ils ont déjà récupérée.
+ * <p>
+ * Le constructeur ne touche pas aux types de blocs : ils ne sont disponibles qu'une fois les registres
+ * de WorldEdit chargés. Les tables sont compilées par {@link #reload()}, appelé au démarrage du plugin.
+ */
 public class MineBlockDistribution {
     // Constantes pour éviter les magic numbers
     private static final double INITIAL_PERCENTAGE = 70.0;
@@ -15,24 +30,49 @@ public class MineBlockDistribution {
     private static final double INCREASE_STEP_1 = 10.0;
     private static final double INCREASE_STEP_2 = 20.0;
     private static final int LEVELS_PER_CYCLE = 5;
+    private static final String DEFAULT_NAMESPACE = "minecraft:";
 
-    private final List<BlockType> blockType;
+    // Messages constants
+    private static final String WARN_INVALID_LEVEL = "Niveau de distribution invalide dans la configuration : %s";
+    private static final String WARN_UNKNOWN_BLOCK = "Bloc inconnu dans la distribution du niveau %d : %s";
+    private static final String ERROR_NOT_COMPILED = "Les distributions de blocs des mines n'ont pas encore été compilées.";
+
+    private volatile MineBlockTable[] tables;
 
     public MineBlockDistribution() {
-        this.blockType = List.of(
-                BlockTypes.STONE,
-                BlockTypes.COAL_ORE,
-                BlockTypes.IRON_ORE,
-                BlockTypes.DIAMOND_ORE,
-                BlockTypes.EMERALD_ORE,
-                BlockTypes.GOLD_ORE,
-                BlockTypes.REDSTONE_ORE,
-                BlockTypes.LAPIS_ORE,
-                BlockTypes.QUARTZ_BLOCK,
-                BlockTypes.ANCIENT_DEBRIS
-        );
+        this.tables = new MineBlockTable[0];
     }
 
+    /**
+     * Recompile toutes les tables à partir de la configuration et les remplace atomiquement.
+     */
+    public void reload() {
+        reload(Settings.MINE_DISTRIBUTION);
+    }
+
+    /**
+     * Recompile toutes les tables à partir des distributions données et les remplace atomiquement.
+     *
+     * @param configured Les distributions définies par niveau, ou null pour n'utiliser que la distribution par défaut.
+     */
+    public void reload(SerializedMap configured) {
+        this.tables = compileTables(configured);
+    }
+
+    /**
+     * Retourne la table compilée d'un niveau. Les niveaux au-delà du dernier niveau compilé
+     * utilisent la dernière table.
+     *
+     * @param level Le niveau de la distribution.
+     * @return La table compilée du niveau.
+     */
+    public MineBlockTable getTable(int level) {
+        MineBlockTable[] current = this.tables;
+        if (current.length == 0) {
+            throw new FoException(ERROR_NOT_COMPILED);
+        }
+        return current[Math.max(0, Math.min(level, current.length - 1))];
+    }
 
     /**
      * Génère la distribution des blocs en fonction du niveau de la mine.
@@ -41,6 +81,7 @@ public class MineBlockDistribution {
      * @return Une map associant chaque BlockType à son pourcentage d'apparition.
      */
     public Map<BlockType, Double> getBlockDistributionForLevel(int level) {
+        List<BlockType> blockType = DefaultBlockTypes.ORDER;
         Map<BlockType, Double> blockDistribution = new HashMap<>();
         int cycle = (level - 1) / LEVELS_PER_CYCLE;
         int cycleLevel = (level - 1) % LEVELS_PER_CYCLE + 1;
@@ -65,4 +106,104 @@ public class MineBlockDistribution {
 
         return blockDistribution;
     }
-}
\ No newline at end of file
+
+    // Méthodes privées
+
+    /**
+     * Compile les tables de tous les niveaux.
+     *
+     * @param configured Les distributions définies dans la configuration, ou null.
+     * @return Les tables compilées, indexées par niveau.
+     */
+    private MineBlockTable[] compileTables(SerializedMap configured) {
+        Map<Integer, SerializedMap> configuredLevels = parseConfiguredLevels(configured);
+
+        // Au-delà de ce niveau, la distribution par défaut ne contient plus que de la pierre
+        int lastLevel = DefaultBlockTypes.ORDER.size() * LEVELS_PER_CYCLE + 1;
+        for (int level : configuredLevels.keySet()) {
+            lastLevel = Math.max(lastLevel, level);
+        }
+
+        MineBlockTable[] compiled = new MineBlockTable[lastLevel + 1];
+        for (int level = 0; level <= lastLevel; level++) {
+            SerializedMap levelMap = configuredLevels.get(level);
+            Map<BlockType, Double> distribution = levelMap != null
+                    ? parseDistribution(level, levelMap)
+                    : getBlockDistributionForLevel(level);
+
+            compiled[level] = MineBlockTable.of(distribution);
+        }
+
+        return compiled;
+    }
+
+    /**
+     * Associe chaque niveau défini dans la configuration à sa distribution brute.
+     *
+     * @param configured Les distributions définies dans la configuration, ou null.
+     * @return Les distributions brutes, indexées par niveau.
+     */
+    private Map<Integer, SerializedMap> parseConfiguredLevels(SerializedMap configured) {
+        Map<Integer, SerializedMap> levels = new HashMap<>();
+        if (configured == null) {
+            return levels;
+        }
+
+        for (String key : configured.keySet()) {
+            try {
+                int level = Integer.parseInt(key.trim());
+                if (level < 0) {
+                    throw new NumberFormatException(key);
+                }
+                levels.put(level, configured.getMap(key));
+            } catch (NumberFormatException exception) {
+                Common.log(String.format(WARN_INVALID_LEVEL, key));
+            }
+        }
+
+        return levels;
+    }
+
+    /**
+     * Convertit la distribution d'un niveau (identifiant de bloc vers pourcentage) en map de BlockType.
+     *
+     * @param level    Le niveau concerné, pour les messages d'avertissement.
+     * @param levelMap La distribution brute du niveau.
+     * @return La distribution du niveau.
+     */
+    private Map<BlockType, Double> parseDistribution(int level, SerializedMap levelMap) {
+        Map<BlockType, Double> distribution = new LinkedHashMap<>();
+
+        levelMap.asMap().forEach((blockId, percentage) -> {
+            String id = blockId.toLowerCase(Locale.ROOT);
+            BlockType type = BlockTypes.get(id.contains(":") ? id : DEFAULT_NAMESPACE + id);
+
+            if (type == null) {
+                Common.log(String.format(WARN_UNKNOWN_BLOCK, level, blockId));
+                return;
+            }
+
+            distribution.put(type, Double.parseDouble(String.valueOf(percentage)));
+        });
+
+        return distribution;
+    }
+
+    /**
+     * Ordre des blocs de la distribution par défaut, résolu au premier accès seulement.
+     */
+    private static final class DefaultBlockTypes {
+        private static final List<BlockType> ORDER = List.of(
+                BlockTypes.STONE,
+                BlockTypes.COAL_ORE,
+                BlockTypes.IRON_ORE,
+                BlockTypes.DIAMOND_ORE,
+                BlockTypes.EMERALD_ORE,
+                BlockTypes.GOLD_ORE,
+                BlockTypes.REDSTONE_ORE,
+                BlockTypes.LAPIS_ORE,
+                BlockTypes.QUARTZ_BLOCK,
+                BlockTypes.ANCIENT_DEBRIS
+        );
+    }
+}
@@ -0,0 +1,97 @@
+package com.solandra.hideout.manager;
+
+import com.sk89q.worldedit.world.block.BlockState;
+
+import java.util.Random;
+
+/**
+ * Échantillonneur pondéré en O(1) construit à partir d'une distribution de blocs (table d'alias de Vose).
+ * Les distributions de chaque niveau sont compilées une seule fois dans {@link MineBlockTable}.
+ * L'instance est immuable : l'aléatoire est fourni par l'appelant, elle peut donc être partagée entre threads.
+ */
+public final class MineBlockSampler {
+    private final BlockState[] blocks;
+    private final double[] probabilities;
+    private final int[] aliases;
+
+    private MineBlockSampler(BlockState[] blocks, double[] probabilities, int[] aliases) {
+        this.blocks = blocks;
+        this.probabilities = probabilities;
+        this.aliases = aliases;
+    }
+
+    /**
+     * Compile des blocs et leurs poids (strictement positifs) en table d'alias.
+     *
+     * @param blocks  Les blocs possibles.
+     * @param weights Le poids de chaque bloc, dans le même ordre.
+     * @return L'échantillonneur correspondant.
+     */
+    public static MineBlockSampler of(BlockState[] blocks, double[] weights) {
+        int size = blocks.length;
+        double total = 0;
+        for (double weight : weights) {
+            total += weight;
+        }
+
+        double[] scaled = new double[size];
+        for (int i = 0; i < size; i++) {
+            scaled[i] = weights[i] * size / total;
+        }
+
+        double[] probabilities = new double[size];
+        int[] aliases = new int[size];
+        int[] small = new int[size];
+        int[] large = new int[size];
+        int smallSize = 0;
+        int largeSize = 0;
+
+        for (int i = 0; i < size; i++) {
+            if (scaled[i] < 1.0) {
+                small[smallSize++] = i;
+            } else {
+                large[largeSize++] = i;
+            }
+        }
+
+        while (smallSize > 0 && largeSize > 0) {
+            int lower = small[--smallSize];
+            int upper = large[--largeSize];
+
+            probabilities[lower] = scaled[lower];
+            aliases[lower] = upper;
+            scaled[upper] = scaled[upper] + scaled[lower] - 1.0;
+
+            if (scaled[upper] < 1.0) {
+                small[smallSize++] = upper;
+            } else {
+                large[largeSize++] = upper;
+            }
+        }
+
+        // Les colonnes restantes sont pleines (à l'erreur d'arrondi près)
+        while (largeSize > 0) {
+            int index = large[--largeSize];
+            probabilities[index] = 1.0;
+            aliases[index] = index;
+        }
+        while (smallSize > 0) {
+            int index = small[--smallSize];
+            probabilities[index] = 1.0;
+            aliases[index] = index;
+        }
+
+        return new MineBlockSampler(blocks.clone(), probabilities, aliases);
+    }
+
+    /**
+     * Tire un bloc selon la distribution compilée.
+     *
+     * @param random La source d'aléatoire du thread appelant.
+     * @return Le bloc tiré.
+     */
+    public BlockState sample(Random random) {
+        int column = random.nextInt(blocks.length);
+        return random.nextDouble() < probabilities[column] ? blocks[column] : blocks[aliases[column]];
+    }
+}
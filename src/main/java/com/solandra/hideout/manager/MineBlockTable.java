@@ -0,0 +1,122 @@
+package com.solandra.hideout.manager;
+
+import com.sk89q.worldedit.world.block.BlockState;
+import com.sk89q.worldedit.world.block.BlockType;
+import com.sk89q.worldedit.world.block.BlockTypes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Distribution compilée et immuable d'un niveau de mine : blocs et poids cumulés dans des tableaux parallèles,
+ * ainsi que la table d'alias correspondante. Une instance peut être partagée sans verrou entre les remplissages.
+ */
+public final class MineBlockTable {
+    private static final BlockState DEFAULT_BLOCK = BlockTypes.STONE.getDefaultState();
+
+    private final BlockState[] blocks;
+    private final double[] cumulativeWeights;
+    private final MineBlockSampler sampler;
+
+    private MineBlockTable(BlockState[] blocks, double[] cumulativeWeights, MineBlockSampler sampler) {
+        this.blocks = blocks;
+        this.cumulativeWeights = cumulativeWeights;
+        this.sampler = sampler;
+    }
+
+    /**
+     * Compile une distribution (pourcentages par type de bloc).
+     * Les entrées nulles ou négatives sont ignorées ; une distribution vide produit uniquement de la pierre.
+     *
+     * @param distribution La distribution des blocs du niveau.
+     * @return La table compilée.
+     */
+    public static MineBlockTable of(Map<BlockType, Double> distribution) {
+        List<BlockState> states = new ArrayList<>();
+        List<Double> weights = new ArrayList<>();
+
+        distribution.forEach((blockType, percentage) -> {
+            if (blockType != null && percentage != null && percentage > 0) {
+                states.add(blockType.getDefaultState());
+                weights.add(percentage);
+            }
+        });
+
+        if (states.isEmpty()) {
+            states.add(DEFAULT_BLOCK);
+            weights.add(100.0);
+        }
+
+        BlockState[] blocks = states.toArray(new BlockState[0]);
+        double[] rawWeights = new double[blocks.length];
+        double[] cumulativeWeights = new double[blocks.length];
+        double total = 0;
+
+        for (int i = 0; i < blocks.length; i++) {
+            rawWeights[i] = weights.get(i);
+            total += rawWeights[i];
+            cumulativeWeights[i] = total;
+        }
+
+        return new MineBlockTable(blocks, cumulativeWeights, MineBlockSampler.of(blocks, rawWeights));
+    }
+
+    /**
+     * Retourne le nombre de blocs possibles dans cette distribution.
+     *
+     * @return Le nombre de blocs.
+     */
+    public int size() {
+        return blocks.length;
+    }
+
+    /**
+     * Retourne le bloc à l'index donné.
+     *
+     * @param index L'index du bloc.
+     * @return Le bloc.
+     */
+    public BlockState getBlock(int index) {
+        return blocks[index];
+    }
+
+    /**
+     * Retourne le poids cumulé jusqu'au bloc donné (inclus).
+     *
+     * @param index L'index du bloc.
+     * @return Le poids cumulé.
+     */
+    public double getCumulativeWeight(int index) {
+        return cumulativeWeights[index];
+    }
+
+    /**
+     * Retourne la somme des poids de la distribution.
+     *
+     * @return Le poids total.
+     */
+    public double getTotalWeight() {
+        return cumulativeWeights[cumulativeWeights.length - 1];
+    }
+
+    /**
+     * Retourne l'échantillonneur O(1) de cette distribution.
+     *
+     * @return L'échantillonneur.
+     */
+    public MineBlockSampler getSampler() {
+        return sampler;
+    }
+
+    /**
+     * Tire un bloc selon la distribution.
+     *
+     * @param random La source d'aléatoire du thread appelant.
+     * @return Le bloc tiré.
+     */
+    public BlockState sample(Random random) {
+        return sampler.sample(random);
+    }
+}
@@ -0,0 +1,169 @@
+package com.solandra.hideout.manager;
+
+import com.solandra.hideout.utils.CuboidBounds;
+
+import java.util.BitSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Suit les blocs cassés de chaque mine depuis son dernier remplissage complet.
+ * Chaque mine possède un BitSet indexé par le décalage local de la position dans ses bornes.
+ * Le suivi n'est pas persisté : après un redémarrage, il est absent et le prochain remplissage
+ * réécrit toute la mine. Lors d'une amélioration, il est reporté dans les nouvelles bornes.
+ */
+public class MineBreakTracker {
+
+    private final ConcurrentMap<Integer, MinedBlocks> trackedMines;
+
+    public MineBreakTracker() {
+        this.trackedMines = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Démarre un suivi vierge pour une mine qui vient d'être entièrement remplie.
+     *
+     * @param hideoutId L'identifiant du hideout.
+     * @param bounds    Les bornes de la mine au moment du remplissage.
+     */
+    public void reset(int hideoutId, CuboidBounds bounds) {
+        trackedMines.put(hideoutId, new MinedBlocks(bounds));
+    }
+
+    /**
+     * Démarre un suivi vierge pour une mine chargée dont le suivi est absent ou ne correspond plus à ses bornes.
+     * Sans effet si un suivi valide existe déjà, par exemple pour un hideout retiré puis rechargé.
+     *
+     * @param hideoutId L'identifiant du hideout.
+     * @param bounds    Les bornes actuelles de la mine.
+     * @return Le nombre de blocs déjà cassés selon le suivi conservé, ou 0 pour un nouveau suivi.
+     */
+    public long resume(int hideoutId, CuboidBounds bounds) {
+        MinedBlocks minedBlocks = trackedMines.compute(hideoutId, (id, current) ->
+                current != null && current.bounds.equals(bounds) ? current : new MinedBlocks(bounds));
+        return minedBlocks.count();
+    }
+
+    /**
+     * Reporte le suivi d'une mine agrandie dans ses nouvelles bornes, sans perdre les positions déjà cassées.
+     * Si le suivi ne correspond pas aux anciennes bornes, il est abandonné.
+     *
+     * @param hideoutId      L'identifiant du hideout.
+     * @param previousBounds Les bornes de la mine avant l'agrandissement.
+     * @param newBounds      Les bornes de la mine après l'agrandissement.
+     */
+    public void resize(int hideoutId, CuboidBounds previousBounds, CuboidBounds newBounds) {
+        trackedMines.computeIfPresent(hideoutId, (id, minedBlocks) ->
+                minedBlocks.bounds.equals(previousBounds) ? minedBlocks.remap(newBounds) : null);
+    }
+
+    /**
+     * Abandonne le suivi d'une mine.
+     *
+     * @param hideoutId L'identifiant du hideout.
+     */
+    public void invalidate(int hideoutId) {
+        trackedMines.remove(hideoutId);
+    }
+
+    /**
+     * Enregistre un bloc cassé dans une mine suivie.
+     *
+     * @param hideoutId L'identifiant du hideout.
+     * @return True si la position est dans la mine et n'était pas encore marquée, sinon False.
+     */
+    public boolean markBroken(int hideoutId, int x, int y, int z) {
+        MinedBlocks minedBlocks = trackedMines.get(hideoutId);
+        return minedBlocks != null && minedBlocks.mark(x, y, z);
+    }
+
+    /**
+     * Retourne le nombre de blocs cassés depuis le dernier remplissage complet.
+     *
+     * @param hideoutId L'identifiant du hideout.
+     * @param bounds    Les bornes actuelles de la mine.
+     * @return Le nombre de blocs cassés, ou -1 si le suivi est absent ou ne correspond plus aux bornes.
+     */
+    public long getMinedCount(int hideoutId, CuboidBounds bounds) {
+        MinedBlocks minedBlocks = trackedMines.get(hideoutId);
+        if (minedBlocks == null || !minedBlocks.bounds.equals(bounds)) {
+            return -1;
+        }
+        return minedBlocks.count();
+    }
+
+    /**
+     * Récupère les positions cassées et remet le suivi à zéro.
+     *
+     * @param hideoutId L'identifiant du hideout.
+     * @param bounds    Les bornes actuelles de la mine.
+     * @return Les positions cassées, ou null si le suivi est absent ou ne correspond plus aux bornes.
+     */
+    public BitSet drain(int hideoutId, CuboidBounds bounds) {
+        MinedBlocks minedBlocks = trackedMines.get(hideoutId);
+        if (minedBlocks == null || !minedBlocks.bounds.equals(bounds)) {
+            return null;
+        }
+        return minedBlocks.drain();
+    }
+
+    /**
+     * Calcule le décalage local d'une position dans des bornes.
+     *
+     * @return L'index de la position, ou -1 si elle est hors des bornes.
+     */
+    public static int localIndex(CuboidBounds bounds, int x, int y, int z) {
+        if (!bounds.contains(x, y, z)) {
+            return -1;
+        }
+        return ((y - bounds.getMinY()) * bounds.getSizeZ() + (z - bounds.getMinZ())) * bounds.getSizeX() + (x - bounds.getMinX());
+    }
+
+    /**
+     * Positions cassées d'une mine, protégées par le moniteur de l'instance.
+     */
+    private static final class MinedBlocks {
+        private final CuboidBounds bounds;
+        private BitSet bits;
+
+        private MinedBlocks(CuboidBounds bounds) {
+            this.bounds = bounds;
+            this.bits = new BitSet();
+        }
+
+        private synchronized boolean mark(int x, int y, int z) {
+            int index = localIndex(bounds, x, y, z);
+            if (index < 0 || bits.get(index)) {
+                return false;
+            }
+
+            bits.set(index);
+            return true;
+        }
+
+        private synchronized MinedBlocks remap(CuboidBounds newBounds) {
+            MinedBlocks remapped = new MinedBlocks(newBounds);
+            int sizeX = bounds.getSizeX();
+            int sizeZ = bounds.getSizeZ();
+
+            for (int index = bits.nextSetBit(0); index >= 0; index = bits.nextSetBit(index + 1)) {
+                int x = bounds.getMinX() + index % sizeX;
+                int z = bounds.getMinZ() + (index / sizeX) % sizeZ;
+                int y = bounds.getMinY() + index / sizeX / sizeZ;
+                remapped.mark(x, y, z);
+            }
+
+            return remapped;
+        }
+
+        private synchronized long count() {
+            return bits.cardinality();
+        }
+
+        private synchronized BitSet drain() {
+            BitSet drained = bits;
+            bits = new BitSet();
+            return drained;
+        }
+    }
+}
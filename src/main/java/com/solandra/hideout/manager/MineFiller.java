@@ -0,0 +1,104 @@
+package com.solandra.hideout.manager;
+
+import com.sk89q.worldedit.extent.Extent;
+import com.sk89q.worldedit.world.block.BlockState;
+import com.solandra.hideout.utils.CuboidBounds;
+import org.mineacademy.fo.Common;
+
+import java.util.BitSet;
+import java.util.Random;
+
+/**
+ * Boucle d'écriture des blocs d'une mine.
+ * Les positions sont parcourues en coordonnées entières, sans créer d'objet par bloc.
+ */
+public final class MineFiller {
+
+    private MineFiller() {
+    }
+
+    /**
+     * Remplit tout le cuboïde en tirant chaque bloc au moment où sa position est écrite.
+     *
+     * @param extent  L'extent de destination (généralement une EditSession).
+     * @param bounds  Les bornes du cuboïde à remplir.
+     * @param sampler L'échantillonneur compilé à partir de la distribution des blocs.
+     * @param random  La source d'aléatoire du thread appelant.
+     * @return Le nombre de blocs écrits.
+     */
+    public static long fill(Extent extent, CuboidBounds bounds, MineBlockSampler sampler, Random random) {
+        long written = 0;
+
+        for (int y = bounds.getMinY(); y <= bounds.getMaxY(); y++) {
+            for (int z = bounds.getMinZ(); z <= bounds.getMaxZ(); z++) {
+                for (int x = bounds.getMinX(); x <= bounds.getMaxX(); x++) {
+                    if (setBlock(extent, x, y, z, sampler.sample(random))) {
+                        written++;
+                    }
+                }
+            }
+        }
+
+        return written;
+    }
+
+    /**
+     * Remplit uniquement les positions marquées, exprimées en décalage local dans les bornes
+     * (voir {@link MineBreakTracker#localIndex(CuboidBounds, int, int, int)}).
+     *
+     * @param extent    L'extent de destination (généralement une EditSession).
+     * @param bounds    Les bornes dans lesquelles les positions sont exprimées.
+     * @param positions Les décalages locaux des positions à remplir.
+     * @param sampler   L'échantillonneur compilé à partir de la distribution des blocs.
+     * @param random    La source d'aléatoire du thread appelant.
+     * @return Le nombre de blocs écrits.
+     */
+    public static long fillPositions(Extent extent, CuboidBounds bounds, BitSet positions, MineBlockSampler sampler, Random random) {
+        return fillPositions(extent, bounds, positions, 0, Integer.MAX_VALUE, sampler, random);
+    }
+
+    /**
+     * Remplit uniquement les positions marquées dont le décalage local est compris dans l'intervalle donné.
+     *
+     * @param extent    L'extent de destination (généralement une EditSession).
+     * @param bounds    Les bornes dans lesquelles les positions sont exprimées.
+     * @param positions Les décalages locaux des positions à remplir.
+     * @param fromIndex Le premier décalage de l'intervalle (inclus).
+     * @param toIndex   Le dernier décalage de l'intervalle (exclu).
+     * @param sampler   L'échantillonneur compilé à partir de la distribution des blocs.
+     * @param random    La source d'aléatoire du thread appelant.
+     * @return Le nombre de blocs écrits.
+     */
+    public static long fillPositions(Extent extent, CuboidBounds bounds, BitSet positions, int fromIndex, int toIndex,
+                                     MineBlockSampler sampler, Random random) {
+        int sizeX = bounds.getSizeX();
+        int sizeZ = bounds.getSizeZ();
+        long written = 0;
+
+        for (int index = positions.nextSetBit(fromIndex); index >= 0 && index < toIndex; index = positions.nextSetBit(index + 1)) {
+            int x = bounds.getMinX() + index % sizeX;
+            int z = bounds.getMinZ() + (index / sizeX) % sizeZ;
+            int y = bounds.getMinY() + index / sizeX / sizeZ;
+
+            if (setBlock(extent, x, y, z, sampler.sample(random))) {
+                written++;
+            }
+        }
+
+        return written;
+    }
+
+    /**
+     * Écrit un bloc à la position donnée.
+     *
+     * @return True si le bloc a été écrit, sinon False.
+     */
+    private static boolean setBlock(Extent extent, int x, int y, int z, BlockState block) {
+        try {
+            return extent.setBlock(x, y, z, block);
+        } catch (Exception e) {
+            Common.throwError(e, "Erreur lors du placement du bloc à la position: " + x + ", " + y + ", " + z + ". Bloc: " + block.getAsString());
+            return false;
+        }
+    }
+}
@@ -3,18 +3,23 @@ package com.solandra.hideout.manager;
 import com.sk89q.worldedit.EditSession;
 import com.sk89q.worldedit.WorldEdit;
 import com.sk89q.worldedit.bukkit.BukkitAdapter;
+import com.sk89q.worldedit.function.operation.ForwardExtentCopy;
 import com.sk89q.worldedit.function.operation.Operations;
 import com.sk89q.worldedit.math.BlockVector3;
-import com.sk89q.worldedit.world.block.BlockState;
-import com.sk89q.worldedit.world.block.BlockType;
+import com.sk89q.worldedit.regions.CuboidRegion;
 import com.solandra.hideout.Main;
+import com.solandra.hideout.manager.HideoutActionQueue.ActionType;
+import com.solandra.hideout.manager.MineResetScheduler.Slice;
+import com.solandra.hideout.manager.MineResetScheduler.SlicedFill;
 import com.solandra.hideout.model.Hideout;
 import com.solandra.hideout.model.Mine;
+import com.solandra.hideout.settings.Settings;
+import com.solandra.hideout.utils.CuboidBounds;
+import com.solandra.hideout.utils.CuboidSlicer;
 import net.brcdev.gangs.GangsPlugin;
 import net.brcdev.gangs.gang.Gang;
 import org.bukkit.Location;
-import org.bukkit.Material;
-import org.bukkit.block.Block;
+import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.mineacademy.fo.Common;
@@ -25,6 +30,7 @@ import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Gère les opérations liées aux mines, telles que l'amélioration et le remplissage avec des blocs.
@@ -32,7 +38,9 @@ import java.util.concurrent.ConcurrentMap;
 public class MineManager {
     // Fields constants
     private static final long UPGRADE_COOLDOWN = 5000; // 5 secondes en millisecondes
-    private static final int MAX_LEVEL = 15; // Niveau maximum pour les mines
+    public static final int MAX_LEVEL = 15; // Niveau maximum pour les mines
+    public static final int UPGRADE_GROWTH_X = 10; // Blocs ajoutés en X à chaque amélioration
+    public static final int UPGRADE_GROWTH_Z = 10; // Blocs ajoutés en Z à chaque amélioration, moitié de chaque côté
 
     // Messages constants
     private static final String MSG_MAX_LEVEL_REACHED = "Vous avez atteint le niveau maximum de l'upgrade.";
@@ -41,12 +49,23 @@ public class MineManager {
     private static final String MSG_GANG_NOTIFY = "La mine vient d'être améliorée au niveau %d par %s.";
 
     private final ConcurrentMap<Integer, Long> lastUpgradeTimestamps;
+    private final ConcurrentMap<Integer, Long> lastAutoResetTimestamps;
     private final HideoutManager hideoutManager;
-
+    private final HideoutActionQueue actionQueue;
+    private final MineResetScheduler resetScheduler;
+    private final MineBreakTracker breakTracker;
+    private final MineBlockDistribution blockDistribution;
+    private final MineTemplateCache templateCache;
 
     public MineManager() {
         this.hideoutManager = Main.getInstance().getHideoutManager();
+        this.actionQueue = hideoutManager.getActionQueue();
         this.lastUpgradeTimestamps = new ConcurrentHashMap<>();
+        this.lastAutoResetTimestamps = new ConcurrentHashMap<>();
+        this.resetScheduler = new MineResetScheduler();
+        this.breakTracker = new MineBreakTracker();
+        this.blockDistribution = new MineBlockDistribution();
+        this.templateCache = new MineTemplateCache();
     }
 
     /**
@@ -69,39 +88,144 @@ public class MineManager {
     }
 
     /**
-     * Réinitialise la mine et remet son niveau à zéro.
+     * Réinitialise la mine et remet son niveau à zéro, via la file d'actions du hideout.
      *
      * @param hideout Le hideout contenant la mine.
+     * @return Un CompletableFuture complété une fois la mine réinitialisée.
      */
-    public void resetMine(Hideout hideout) {
-        Region minRegion = calculateMinRegionBasedOnLevel(hideout.getMine());
-        hideout.getMine().setMineRegion(minRegion);
-        hideout.getMine().setLevel(0);
-
-        updateHideout(hideout);
+    public CompletableFuture<Void> resetMine(Hideout hideout) {
+        return actionQueue.submit(hideout.getId(), ActionType.RESET, () -> {
+            applyMineReset(hideout);
+            return CompletableFuture.completedFuture(null);
+        });
     }
 
     /**
      * Remplit la région de la mine avec des blocs en fonction du niveau de la mine.
+     * Le remplissage passe par la file d'actions du hideout, puis par la file centrale de réinitialisation.
      *
      * @param hideout Le hideout contenant la mine.
      */
     public CompletableFuture<Void> fillWithBlocks(Hideout hideout) {
-        return CompletableFuture.runAsync(() -> {
-            Map<BlockType, Double> blockDistribution = getBlockDistributionForMine(hideout);
-            if (blockDistribution == null || blockDistribution.isEmpty()) {
-                return;
-            }
+        return actionQueue.submit(hideout.getId(), ActionType.FILL, () -> submitFill(hideout));
+    }
 
-            List<BlockState> blocksToPlace = prepareBlocksToPlace(blockDistribution, hideout.getMine().getRegion().getBlocks().size());
-            placeBlocksInMine(hideout, blocksToPlace);
-        });
+    /**
+     * Remplit uniquement les blocs cassés depuis le dernier remplissage complet de la mine.
+     * Si le suivi des blocs cassés est absent (redémarrage, changement de région), toute la mine est réécrite.
+     *
+     * @param hideout Le hideout contenant la mine.
+     * @return Un CompletableFuture indiquant la fin de l'opération de remplissage.
+     */
+    public CompletableFuture<Void> refillMinedBlocks(Hideout hideout) {
+        return actionQueue.submit(hideout.getId(), ActionType.REFILL, () -> submitRefill(hideout));
+    }
+
+    /**
+     * Remet le niveau et la région de la mine à zéro, sans passer par la file d'actions.
+     * À appeler uniquement depuis une action du hideout.
+     *
+     * @param hideout Le hideout contenant la mine.
+     */
+    void applyMineReset(Hideout hideout) {
+        hideout.getMine().update(state -> state
+                .withRegion(calculateMinRegionBasedOnLevel(state))
+                .withLevel(0));
+
+        updateHideout(hideout);
+    }
+
+    /**
+     * Met le remplissage complet de la mine dans la file centrale de réinitialisation, sans passer par la file d'actions.
+     * À appeler uniquement depuis une action du hideout.
+     *
+     * @param hideout Le hideout contenant la mine.
+     * @return Un CompletableFuture indiquant la fin de l'opération de remplissage.
+     */
+    CompletableFuture<Void> submitFill(Hideout hideout) {
+        return resetScheduler.submit(hideout.getId(), getEditAnchor(hideout), hasOnlineMembers(hideout), new FullFill(hideout));
+    }
+
+    /**
+     * Met le remplissage des blocs cassés dans la file centrale de réinitialisation, sans passer par la file d'actions.
+     *
+     * @param hideout Le hideout contenant la mine.
+     * @return Un CompletableFuture indiquant la fin de l'opération de remplissage.
+     */
+    private CompletableFuture<Void> submitRefill(Hideout hideout) {
+        CuboidBounds bounds = CuboidBounds.of(hideout.getMine().getRegion());
+        long minedBlocks = breakTracker.getMinedCount(hideout.getId(), bounds);
+        if (minedBlocks < 0) {
+            return submitFill(hideout);
+        }
+
+        return resetScheduler.submit(hideout.getId(), getEditAnchor(hideout), hasOnlineMembers(hideout), new MinedBlocksRefill(hideout, bounds));
+    }
+
+    /**
+     * Reprend le suivi des blocs cassés d'un hideout qui vient d'être chargé en mémoire.
+     * Sans suivi conservé, la mine est considérée comme pleine, comme après un remplissage complet :
+     * les casses sont de nouveau comptées et la réinitialisation automatique peut se déclencher.
+     *
+     * @param hideout Le hideout chargé.
+     */
+    public void resumeTracking(Hideout hideout) {
+        CuboidBounds bounds = CuboidBounds.of(hideout.getMine().getRegion());
+        long minedBlocks = breakTracker.resume(hideout.getId(), bounds);
+        hideout.getMine().restoreBlockCounter(bounds.getVolume(), bounds.getVolume() - minedBlocks);
+    }
+
+    /**
+     * Enregistre un bloc cassé dans la mine d'un hideout et déclenche une réinitialisation automatique
+     * lorsque le pourcentage miné atteint le seuil configuré.
+     *
+     * @param hideout Le hideout contenant la mine.
+     * @return True si le bloc fait partie de la mine et n'avait pas encore été compté, sinon False.
+     */
+    public boolean recordBlockBreak(Hideout hideout, int x, int y, int z) {
+        if (!breakTracker.markBroken(hideout.getId(), x, y, z)) {
+            return false;
+        }
+
+        hideout.getMine().decrementBlocksRemaining();
+        if (shouldAutoReset(hideout)) {
+            refillMinedBlocks(hideout);
+        }
+        return true;
+    }
+
+    /**
+     * Retourne les distributions de blocs compilées des mines.
+     *
+     * @return Les distributions de blocs.
+     */
+    public MineBlockDistribution getBlockDistribution() {
+        return blockDistribution;
+    }
+
+    /**
+     * Retourne le cache des gabarits de mines pré-générés.
+     *
+     * @return Le cache des gabarits.
+     */
+    public MineTemplateCache getTemplateCache() {
+        return templateCache;
+    }
+
+    /**
+     * Retourne la file centrale de réinitialisation des mines.
+     *
+     * @return La file de réinitialisation.
+     */
+    public MineResetScheduler getResetScheduler() {
+        return resetScheduler;
     }
 
     // Méthodes privées
 
     /**
-     * Exécute l'amélioration de la mine de manière asynchrone.
+     * Exécute l'amélioration de la mine de manière asynchrone, via la file d'actions du hideout.
+     * L'action se termine une fois les nouveaux blocs placés : aucune autre action du hideout ne démarre avant.
      *
      * @param executor Le joueur qui initie l'amélioration.
      * @param hideout  Le hideout contenant la mine.
@@ -109,16 +233,58 @@ public class MineManager {
     private void executeMineUpgrade(Player executor, Hideout hideout) {
         lastUpgradeTimestamps.put(hideout.getId(), System.currentTimeMillis());
 
-        CompletableFuture.runAsync(() -> {
-            upgradeMineLevel(hideout);
-            updateMineRegion(hideout);
-            updateHideout(hideout);
+        actionQueue.submit(hideout.getId(), ActionType.UPGRADE, () -> CompletableFuture.supplyAsync(() -> upgradeMineState(hideout.getMine()))
+                .thenCompose(previousState -> {
+                    if (previousState == null) {
+                        Messenger.error(executor, MSG_MAX_LEVEL_REACHED);
+                        return CompletableFuture.completedFuture(null);
+                    }
+
+                    CuboidBounds previousBounds = CuboidBounds.of(previousState.getRegion());
+                    updateHideout(hideout);
+
+                    CompletableFuture<Void> fill;
+                    if (Boolean.TRUE.equals(Settings.MineUpgrade.FULL_REFILL)) {
+                        teleportPlayersOutsideMine(hideout);
+                        fill = submitFill(hideout);
+                    } else {
+                        fill = fillUpgradedCells(hideout, previousBounds);
+                    }
+
+                    return fill.thenRun(() -> {
+                        notifyGangMembers(hideout, executor);
+                        Messenger.success(executor, String.format(MSG_UPGRADE_SUCCESS, hideout.getMine().getLevel()));
+                    });
+                }));
+    }
 
-            teleportPlayersOutsideMine(hideout);
+    /**
+     * Remplit uniquement les cellules ajoutées par l'agrandissement de la mine.
+     * Le suivi des blocs cassés est reporté dans les nouvelles bornes, les joueurs peuvent continuer à miner.
+     *
+     * @param hideout        Le hideout contenant la mine, déjà agrandie.
+     * @param previousBounds Les bornes de la mine avant l'agrandissement.
+     * @return Un CompletableFuture indiquant la fin de l'opération de remplissage.
+     */
+    private CompletableFuture<Void> fillUpgradedCells(Hideout hideout, CuboidBounds previousBounds) {
+        CuboidBounds bounds = CuboidBounds.of(hideout.getMine().getRegion());
+        CuboidSlicer slicer = new CuboidSlicer(bounds.subtract(previousBounds));
+
+        breakTracker.resize(hideout.getId(), previousBounds, bounds);
+
+        return resetScheduler.submit(hideout.getId(), getEditAnchor(hideout), hasOnlineMembers(hideout), maxBlocks -> {
+            CuboidBounds cells = slicer.next(maxBlocks);
+            if (cells == null) {
+                return null;
+            }
+
+            return new Slice(cells.getVolume(), () -> {
+                try (EditSession editSession = WorldEdit.getInstance().newEditSession(BukkitAdapter.adapt(hideout.getMine().getRegion().getWorld()))) {
+                    MineFiller.fill(editSession, cells, getTableForMine(hideout).getSampler(), ThreadLocalRandom.current());
+                    Operations.completeBlindly(editSession.commit());
+                }
 
-            fillWithBlocks(hideout).thenRun(() -> {
-                notifyGangMembers(hideout, executor);
-                Messenger.success(executor, String.format(MSG_UPGRADE_SUCCESS, hideout.getMine().getLevel()));
+                hideout.getMine().growBlockCounter(cells.getVolume());
             });
         });
     }
@@ -154,21 +320,27 @@ public class MineManager {
     }
 
     /**
-     * Améliore le niveau de la mine.
+     * Passe la mine au niveau suivant et agrandit sa région en une seule publication de son état.
+     * Deux améliorations simultanées s'appliquent l'une après l'autre, sans dépasser le niveau maximum.
      *
-     * @param hideout Le hideout contenant la mine.
+     * @param mine La mine à améliorer.
+     * @return L'état de la mine avant l'amélioration, ou null si le niveau maximum est déjà atteint.
      */
-    private void upgradeMineLevel(Hideout hideout) {
-        hideout.getMine().addLevel();
-    }
+    private Mine.State upgradeMineState(Mine mine) {
+        while (true) {
+            Mine.State current = mine.getState();
+            if (current.getLevel() >= MAX_LEVEL) {
+                return null;
+            }
 
-    /**
-     * Met à jour la région de la mine après amélioration.
-     *
-     * @param hideout Le hideout contenant la mine.
-     */
-    private void updateMineRegion(Hideout hideout) {
-        hideout.getMine().setMineRegion(calculateNextRegion(hideout));
+            Mine.State upgraded = current
+                    .withLevel(current.getLevel() + 1)
+                    .withRegion(calculateNextRegion(current.getRegion()));
+
+            if (mine.compareAndSet(current, upgraded)) {
+                return current;
+            }
+        }
     }
 
     /**
@@ -209,107 +381,235 @@ public class MineManager {
     }
 
     /**
-     * Prépare les blocs à placer dans la mine en fonction de la distribution.
+     * Remplit une tranche de la mine, en copiant la partie correspondante d'un gabarit pré-généré si le mode
+     * gabarit est activé et qu'un gabarit est prêt, sinon en tirant chaque bloc au moment où sa position est écrite.
      *
-     * @param blockDistribution La distribution des blocs en fonction du niveau.
-     * @param totalBlocks       Le nombre total de blocs dans la région.
-     * @return Une liste de blocs à placer.
+     * @param hideout Le hideout contenant la mine.
+     * @param bounds  Les bornes de toute la mine.
+     * @param slice   La tranche à remplir, contenue dans les bornes de la mine.
+     * @param table   La distribution compilée du niveau de la mine.
      */
-    private List<BlockState> prepareBlocksToPlace(Map<BlockType, Double> blockDistribution, int totalBlocks) {
-        List<BlockState> blocksToPlace = new ArrayList<>();
-
-        blockDistribution.forEach((blockType, percentage) -> {
-            int blockCount = (int) Math.round(percentage / 100.0 * totalBlocks);
-            BlockState block = blockType.getDefaultState();
-
-            for (int i = 0; i < blockCount; i++) {
-                blocksToPlace.add(block);
+    private void placeBlocksInMine(Hideout hideout, CuboidBounds bounds, CuboidBounds slice, MineBlockTable table) {
+        try (MineTemplateCache.Lease template = templateCache.isEnabled() ? templateCache.acquire(table, bounds) : null;
+             EditSession editSession = WorldEdit.getInstance().newEditSession(BukkitAdapter.adapt(hideout.getMine().getRegion().getWorld()))) {
+            if (template != null) {
+                // Le gabarit a pour origine le coin minimal de la mine
+                BlockVector3 from = BlockVector3.at(slice.getMinX() - bounds.getMinX(), slice.getMinY() - bounds.getMinY(), slice.getMinZ() - bounds.getMinZ());
+                CuboidRegion source = new CuboidRegion(from, from.add(slice.getSizeX() - 1, slice.getSizeY() - 1, slice.getSizeZ() - 1));
+                ForwardExtentCopy copy = new ForwardExtentCopy(template.getClipboard(), source, from, editSession,
+                        BlockVector3.at(slice.getMinX(), slice.getMinY(), slice.getMinZ()));
+                copy.setCopyingEntities(false);
+
+                Operations.completeBlindly(copy);
+            } else {
+                MineFiller.fill(editSession, slice, table.getSampler(), ThreadLocalRandom.current());
             }
-        });
 
-        Collections.shuffle(blocksToPlace, new Random());
-        return blocksToPlace;
+            Operations.completeBlindly(editSession.commit());
+        }
     }
 
     /**
-     * Place les blocs dans la mine en fonction de la liste fournie.
+     * Place des blocs uniquement aux positions cassées de la mine comprises dans un intervalle de décalages.
      *
-     * @param hideout      Le hideout contenant la mine.
-     * @param blocksToPlace La liste des blocs à placer.
+     * @param hideout   Le hideout contenant la mine.
+     * @param bounds    Les bornes dans lesquelles les positions sont exprimées.
+     * @param positions Les décalages locaux des positions cassées.
+     * @param fromIndex Le premier décalage de l'intervalle (inclus).
+     * @param toIndex   Le dernier décalage de l'intervalle (exclu).
+     * @param sampler   L'échantillonneur compilé à partir de la distribution des blocs.
      */
-    private void placeBlocksInMine(Hideout hideout, List<BlockState> blocksToPlace) {
+    private void placeMinedBlocksInMine(Hideout hideout, CuboidBounds bounds, BitSet positions, int fromIndex, int toIndex, MineBlockSampler sampler) {
         try (EditSession editSession = WorldEdit.getInstance().newEditSession(BukkitAdapter.adapt(hideout.getMine().getRegion().getWorld()))) {
-            List<BlockVector3> positions = getBlocksAsVectors(hideout.getMine().getRegion());
+            MineFiller.fillPositions(editSession, bounds, positions, fromIndex, toIndex, sampler, ThreadLocalRandom.current());
+            Operations.completeBlindly(editSession.commit());
+        }
 
-            if (positions.size() > blocksToPlace.size()) {
-                BlockState defaultBlock = BukkitAdapter.adapt(Material.STONE.createBlockData());
-                while (blocksToPlace.size() < positions.size()) {
-                    blocksToPlace.add(defaultBlock);
-                }
-            } else if (positions.size() < blocksToPlace.size()) {
-                blocksToPlace = blocksToPlace.subList(0, positions.size());
-            }
+        hideout.getMine().addBlocksRemaining(positions.get(fromIndex, toIndex).cardinality());
+    }
 
-            for (int i = 0; i < positions.size(); i++) {
-                try {
-                    editSession.setBlock(positions.get(i), blocksToPlace.get(i));
-                } catch (Exception e) {
-                    Common.throwError(e, "Erreur lors du placement du bloc à la position: " + positions.get(i) + ". Bloc: " + blocksToPlace.get(i).getAsString());
-                }
-            }
+    /**
+     * Retourne la distribution précompilée correspondant au hideout.
+     *
+     * @param hideout Le hideout contenant la mine.
+     * @return La table du niveau de distribution du hideout.
+     */
+    private MineBlockTable getTableForMine(Hideout hideout) {
+        return blockDistribution.getTable(hideout.getPrestige());
+    }
 
-            Operations.completeBlindly(editSession.commit());
+    /**
+     * Retourne la position qui range les éditions du hideout dans la même file que le collage de sa schématique.
+     *
+     * @param hideout Le hideout contenant la mine.
+     * @return Le coin primaire de la région principale du hideout.
+     */
+    private Location getEditAnchor(Hideout hideout) {
+        return hideout.getMainRegion().getPrimary();
+    }
+
+    /**
+     * Vérifie si la mine doit être réinitialisée automatiquement : le seuil est atteint
+     * et la dernière réinitialisation automatique est plus ancienne que le délai configuré.
+     *
+     * @param hideout Le hideout contenant la mine.
+     * @return True si la réinitialisation doit être lancée, sinon False.
+     */
+    private boolean shouldAutoReset(Hideout hideout) {
+        int threshold = Settings.MineReset.AUTO_RESET_PERCENTAGE;
+        if (threshold <= 0 || hideout.getMine().getMinedPercentage() < threshold) {
+            return false;
         }
+
+        long now = System.currentTimeMillis();
+        long cooldown = Settings.MineReset.AUTO_RESET_COOLDOWN_SECONDS * 1000L;
+        boolean[] allowed = {false};
+
+        lastAutoResetTimestamps.compute(hideout.getId(), (id, lastReset) -> {
+            if (lastReset != null && now - lastReset < cooldown) {
+                return lastReset;
+            }
+            allowed[0] = true;
+            return now;
+        });
+
+        return allowed[0];
     }
 
     /**
-     * Récupère la distribution des blocs pour un niveau spécifique de la mine.
+     * Vérifie si le gang propriétaire du hideout a au moins un membre en ligne.
      *
-     * @param hideout l'hideout pour laquelle récupérer la distribution.
-     * @return La distribution des blocs sous forme de Map.
+     * @param hideout Le hideout à vérifier.
+     * @return True si un membre du gang est en ligne, sinon False.
      */
-    private Map<BlockType, Double> getBlockDistributionForMine(Hideout hideout) {
-        MineBlockDistribution mineBlockDistribution = new MineBlockDistribution();
-        return mineBlockDistribution.getBlockDistributionForLevel(hideout.getPrestige());
+    private boolean hasOnlineMembers(Hideout hideout) {
+        Gang gang = GangsPlugin.getInstance().getGangManager().getGang(hideout.getGangOwnerId());
+        return gang != null && gang.getAllMembers().stream().anyMatch(OfflinePlayer::isOnline);
     }
 
     /**
      * Calcule la région agrandie pour le prochain niveau de la mine.
      *
-     * @param hideout Le hideout de la mine.
+     * @param region La région actuelle de la mine.
      * @return La nouvelle région après amélioration.
      */
-    private Region calculateNextRegion(Hideout hideout) {
-        Location primary = hideout.getMine().getRegion().getPrimary().clone().add(0, 0, 5);
-        Location secondary = hideout.getMine().getRegion().getSecondary().clone().subtract(10, 0, 5);
+    private Region calculateNextRegion(Region region) {
+        Location primary = region.getPrimary().clone().add(0, 0, UPGRADE_GROWTH_Z / 2);
+        Location secondary = region.getSecondary().clone().subtract(UPGRADE_GROWTH_X, 0, UPGRADE_GROWTH_Z / 2);
         return new Region(primary, secondary);
     }
 
     /**
      * Calcule la région minimale basée sur le niveau 0 de la mine.
      *
-     * @param mine La mine dont la région minimale doit être calculée.
+     * @param state L'état de la mine dont la région minimale doit être calculée.
      * @return La région calculée pour le niveau 0.
      */
-    private Region calculateMinRegionBasedOnLevel(Mine mine) {
-        Location primaryMin = mine.getRegion().getPrimary().clone().subtract(0, 0, 5 * mine.getLevel());
-        Location secondaryMin = mine.getRegion().getSecondary().clone().add(10 * mine.getLevel(), 0, 5 * mine.getLevel());
+    private Region calculateMinRegionBasedOnLevel(Mine.State state) {
+        Location primaryMin = state.getRegion().getPrimary().clone().subtract(0, 0, UPGRADE_GROWTH_Z / 2 * state.getLevel());
+        Location secondaryMin = state.getRegion().getSecondary().clone().add(UPGRADE_GROWTH_X * state.getLevel(), 0, UPGRADE_GROWTH_Z / 2 * state.getLevel());
         return new Region(primaryMin, secondaryMin);
     }
 
     /**
-     * Retourne une liste des positions des blocs dans la région sous forme de BlockVector3.
-     *
-     * @param region La région de la mine.
-     * @return Une liste de BlockVector3 représentant les positions des blocs dans la région.
+     * Remplissage complet de la mine, par tranches. Les bornes et la distribution sont lues à la première tranche,
+     * et le suivi des blocs cassés comme les compteurs repartent alors de zéro.
      */
-    private List<BlockVector3> getBlocksAsVectors(Region region) {
-        List<BlockVector3> blockVectors = new ArrayList<>();
+    private final class FullFill implements SlicedFill {
+        private final Hideout hideout;
+        private CuboidBounds bounds;
+        private MineBlockTable table;
+        private CuboidSlicer slicer;
+
+        private FullFill(Hideout hideout) {
+            this.hideout = hideout;
+        }
 
-        for (Block block : region.getBlocks()) {
-            blockVectors.add(BlockVector3.at(block.getX(), block.getY(), block.getZ()));
+        @Override
+        public Slice next(long maxBlocks) {
+            if (slicer == null) {
+                bounds = CuboidBounds.of(hideout.getMine().getRegion());
+                table = getTableForMine(hideout);
+                slicer = new CuboidSlicer(List.of(bounds));
+
+                breakTracker.reset(hideout.getId(), bounds);
+                hideout.getMine().resetBlockCounter(bounds.getVolume());
+            }
+
+            CuboidBounds slice = slicer.next(maxBlocks);
+            if (slice == null) {
+                return null;
+            }
+            return new Slice(slice.getVolume(), () -> placeBlocksInMine(hideout, bounds, slice, table));
         }
+    }
 
-        return blockVectors;
+    /**
+     * Remplissage des blocs cassés, par tranches d'au plus le nombre de positions demandé.
+     * Les positions sont récupérées à la première tranche ; si le suivi ne correspond plus aux bornes,
+     * toute la mine est remplie à la place. Les positions occupées par un joueur sont laissées vides.
+     */
+    private final class MinedBlocksRefill implements SlicedFill {
+        private final Hideout hideout;
+        private final CuboidBounds bounds;
+        private BitSet positions;
+        private MineBlockSampler sampler;
+        private FullFill fallback;
+        private int nextIndex;
+
+        private MinedBlocksRefill(Hideout hideout, CuboidBounds bounds) {
+            this.hideout = hideout;
+            this.bounds = bounds;
+        }
+
+        @Override
+        public Slice next(long maxBlocks) {
+            if (fallback != null) {
+                return fallback.next(maxBlocks);
+            }
+
+            if (positions == null) {
+                positions = breakTracker.drain(hideout.getId(), bounds);
+                if (positions == null) {
+                    fallback = new FullFill(hideout);
+                    return fallback.next(maxBlocks);
+                }
+                sampler = getTableForMine(hideout).getSampler();
+            }
+
+            int fromIndex = positions.nextSetBit(nextIndex);
+            if (fromIndex < 0) {
+                return null;
+            }
+
+            int toIndex = fromIndex + 1;
+            long count = 1;
+            for (int index = positions.nextSetBit(toIndex); index >= 0 && count < maxBlocks; index = positions.nextSetBit(index + 1)) {
+                toIndex = index + 1;
+                count++;
+            }
+            nextIndex = toIndex;
+            keepOccupiedPositions(fromIndex, toIndex);
+
+            int sliceEnd = toIndex;
+            return new Slice(count, () -> placeMinedBlocksInMine(hideout, bounds, positions, fromIndex, sliceEnd, sampler));
+        }
+
+        /**
+         * Retire de la tranche les positions occupées par un joueur, à ses pieds comme à sa tête, pour ne pas
+         * l'enfermer dans un bloc. Ces positions restent marquées comme cassées et seront remplies plus tard.
+         */
+        private void keepOccupiedPositions(int fromIndex, int toIndex) {
+            for (Player player : hideout.getMine().getRegion().getWorld().getPlayers()) {
+                Location location = player.getLocation();
+                for (int y = location.getBlockY(); y <= location.getBlockY() + 1; y++) {
+                    int index = MineBreakTracker.localIndex(bounds, location.getBlockX(), y, location.getBlockZ());
+                    if (index >= fromIndex && index < toIndex && positions.get(index)) {
+                        positions.clear(index);
+                        breakTracker.markBroken(hideout.getId(), location.getBlockX(), y, location.getBlockZ());
+                    }
+                }
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,317 @@
+package com.solandra.hideout.manager;
+
+import com.solandra.hideout.Main;
+import com.solandra.hideout.settings.Settings;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * File centrale des réinitialisations de mines.
+ * Chaque remplissage est découpé en tranches : à chaque tick, au plus {@link Settings.MineReset#BLOCKS_PER_TICK}
+ * blocs sont confiés à {@link EditSessionExecutor}, tous hideouts confondus, et aucune tranche ne dépasse ce budget.
+ * Une grande mine est donc écrite sur plusieurs ticks au lieu de l'être d'un seul coup.
+ * Les tranches d'un même remplissage s'exécutent l'une après l'autre : la suivante est préparée sur le thread
+ * principal une fois la précédente terminée. Elles ne sont lancées que s'il reste de la place dans l'exécuteur
+ * des éditions ; sinon le remplissage reste dans cette file, où il peut encore être priorisé.
+ * Les demandes ne sont jamais fusionnées : deux remplissages d'un même hideout écrivent des blocs différents
+ * (mine entière, cellules ajoutées, blocs cassés), et la file d'actions du hideout n'en soumet qu'un à la fois.
+ */
+public class MineResetScheduler {
+    private static final int TASK_PERIOD_TICKS = 1;
+    private static final String ERROR_SCHEDULER_STOPPED = "La file de réinitialisation des mines est arrêtée.";
+
+    private final PriorityQueue<ResetJob> queue;
+    private final Set<ResetJob> activeJobs;
+    private final AtomicLong dispatchedJobs;
+    private final AtomicLong totalWaitMillis;
+
+    private volatile long lastWaitMillis;
+    private boolean running;
+    private BukkitTask task;
+
+    public MineResetScheduler() {
+        this.queue = new PriorityQueue<>(ResetJob.ORDER);
+        this.activeJobs = new HashSet<>();
+        this.dispatchedJobs = new AtomicLong();
+        this.totalWaitMillis = new AtomicLong();
+    }
+
+    /**
+     * Démarre la tâche de distribution, exécutée à chaque tick sur le thread principal.
+     * Sans effet si la tâche tourne déjà.
+     */
+    public void start() {
+        synchronized (this) {
+            running = true;
+        }
+        if (task == null || task.isCancelled()) {
+            task = Bukkit.getScheduler().runTaskTimer(Main.getInstance(), this::tick, TASK_PERIOD_TICKS, TASK_PERIOD_TICKS);
+        }
+    }
+
+    /**
+     * Arrête la tâche de distribution et annule les remplissages non terminés.
+     * Un remplissage dont une tranche est en cours est annulé à la fin de cette tranche.
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+
+        List<ResetJob> cancelled;
+        synchronized (this) {
+            running = false;
+            cancelled = new ArrayList<>(queue);
+            queue.clear();
+        }
+
+        cancelled.forEach(job -> finish(job, new CancellationException(ERROR_SCHEDULER_STOPPED)));
+    }
+
+    /**
+     * Met un remplissage en file pour un hideout.
+     *
+     * @param hideoutId L'identifiant du hideout concerné.
+     * @param anchor    La position servant à choisir la file d'édition (le coin primaire du hideout).
+     * @param priority  True si le gang du hideout a des membres en ligne.
+     * @param fill      Le remplissage, qui fournit ses tranches une à une.
+     * @return Un CompletableFuture complété une fois la dernière tranche écrite.
+     */
+    public synchronized CompletableFuture<Void> submit(int hideoutId, Location anchor, boolean priority, SlicedFill fill) {
+        ResetJob job = new ResetJob(hideoutId, anchor, priority, fill);
+        activeJobs.add(job);
+        queue.add(job);
+        return job.future;
+    }
+
+    /**
+     * Retourne le nombre de remplissages non terminés, en attente ou en cours d'écriture.
+     *
+     * @return La profondeur de la file.
+     */
+    public synchronized int getQueueDepth() {
+        return activeJobs.size();
+    }
+
+    /**
+     * Retourne le temps d'attente du remplissage le plus ancien dont aucune tranche n'a encore été lancée.
+     *
+     * @return Le temps d'attente en millisecondes, ou 0 si aucun remplissage n'attend.
+     */
+    public synchronized long getOldestWaitMillis() {
+        long now = System.currentTimeMillis();
+        long oldest = 0;
+        for (ResetJob job : queue) {
+            if (!job.started) {
+                oldest = Math.max(oldest, now - job.submittedAt);
+            }
+        }
+        return oldest;
+    }
+
+    /**
+     * Retourne le temps d'attente moyen des remplissages déjà lancés.
+     *
+     * @return Le temps d'attente moyen en millisecondes.
+     */
+    public long getAverageWaitMillis() {
+        long dispatched = dispatchedJobs.get();
+        return dispatched == 0 ? 0 : totalWaitMillis.get() / dispatched;
+    }
+
+    /**
+     * Retourne le temps d'attente du dernier remplissage lancé.
+     *
+     * @return Le temps d'attente en millisecondes.
+     */
+    public long getLastWaitMillis() {
+        return lastWaitMillis;
+    }
+
+    // Méthodes privées
+
+    /**
+     * Lance les tranches que permet le budget du tick, dans la limite de la place restante
+     * dans l'exécuteur des éditions. Le budget non utilisé n'est pas reporté au tick suivant.
+     */
+    private void tick() {
+        EditSessionExecutor editExecutor = Main.getInstance().getEditSessionExecutor();
+        long availableBlocks = Math.max(1, Settings.MineReset.BLOCKS_PER_TICK);
+
+        while (availableBlocks > 0 && editExecutor.getAvailableCapacity() > 0) {
+            ResetJob job;
+            synchronized (this) {
+                job = queue.poll();
+            }
+            if (job == null) {
+                return;
+            }
+
+            Slice slice = job.pendingSlice;
+            if (slice == null) {
+                try {
+                    slice = job.fill.next(availableBlocks);
+                } catch (Throwable throwable) {
+                    finish(job, throwable);
+                    continue;
+                }
+
+                if (slice == null) {
+                    finish(job, null);
+                    continue;
+                }
+            }
+
+            if (!dispatch(editExecutor, job, slice)) {
+                return;
+            }
+            availableBlocks -= slice.blocks;
+        }
+    }
+
+    /**
+     * Confie une tranche à l'exécuteur des éditions. À sa fin, le remplissage revient dans la file
+     * pour sa tranche suivante, ou se termine en erreur.
+     * Si l'exécuteur a été rempli entre-temps par une autre édition, la tranche est gardée et le remplissage
+     * est remis en file.
+     *
+     * @param editExecutor L'exécuteur des éditions.
+     * @param job          Le remplissage.
+     * @param slice        La tranche à lancer.
+     * @return True si la tranche a été lancée, sinon False.
+     */
+    private boolean dispatch(EditSessionExecutor editExecutor, ResetJob job, Slice slice) {
+        CompletableFuture<Void> edit = editExecutor.trySubmit(job.anchor.getWorld(), job.anchor.getBlockX(), job.anchor.getBlockZ(), slice.work);
+        if (edit == null) {
+            job.pendingSlice = slice;
+            requeue(job);
+            return false;
+        }
+
+        job.pendingSlice = null;
+        if (!job.started) {
+            job.started = true;
+            long waited = System.currentTimeMillis() - job.submittedAt;
+            lastWaitMillis = waited;
+            totalWaitMillis.addAndGet(waited);
+            dispatchedJobs.incrementAndGet();
+        }
+
+        edit.whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                finish(job, throwable);
+            } else {
+                requeue(job);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Remet un remplissage en file pour sa tranche suivante, ou l'annule si la file a été arrêtée.
+     *
+     * @param job Le remplissage à remettre en file.
+     */
+    private void requeue(ResetJob job) {
+        synchronized (this) {
+            if (running) {
+                queue.add(job);
+                return;
+            }
+        }
+        finish(job, new CancellationException(ERROR_SCHEDULER_STOPPED));
+    }
+
+    /**
+     * Termine un remplissage et complète son CompletableFuture.
+     *
+     * @param job       Le remplissage terminé.
+     * @param throwable L'erreur qui l'a interrompu, ou null s'il s'est terminé normalement.
+     */
+    private void finish(ResetJob job, Throwable throwable) {
+        synchronized (this) {
+            activeJobs.remove(job);
+        }
+
+        if (throwable != null) {
+            job.future.completeExceptionally(throwable);
+        } else {
+            job.future.complete(null);
+        }
+    }
+
+    /**
+     * Remplissage découpé en tranches.
+     */
+    @FunctionalInterface
+    public interface SlicedFill {
+        /**
+         * Prépare la tranche suivante. Appelé sur le thread principal, jamais pendant l'exécution
+         * de la tranche précédente du même remplissage.
+         *
+         * @param maxBlocks Le nombre maximal de blocs que la tranche peut écrire, au moins 1.
+         * @return La tranche à exécuter dans l'exécuteur des éditions, ou null si le remplissage est terminé.
+         */
+        Slice next(long maxBlocks);
+    }
+
+    /**
+     * Tranche d'un remplissage : le travail à exécuter et le nombre de blocs qu'il écrit au plus.
+     */
+    public static final class Slice {
+        private final long blocks;
+        private final Runnable work;
+
+        /**
+         * Crée une tranche.
+         *
+         * @param blocks Le nombre de blocs écrits au plus par la tranche.
+         * @param work   L'écriture à exécuter dans l'exécuteur des éditions.
+         */
+        public Slice(long blocks, Runnable work) {
+            this.blocks = blocks;
+            this.work = work;
+        }
+    }
+
+    /**
+     * Remplissage en attente dans la file ou dont une tranche est en cours.
+     */
+    private static final class ResetJob {
+        private static final Comparator<ResetJob> ORDER = Comparator
+                .comparing((ResetJob job) -> !job.priority)
+                .thenComparingLong(job -> job.submittedAt);
+
+        private final int hideoutId;
+        private final Location anchor;
+        private final long submittedAt;
+        private final CompletableFuture<Void> future;
+        private final boolean priority;
+        private final SlicedFill fill;
+
+        // Modifiés uniquement sur le thread principal
+        private Slice pendingSlice;
+        private boolean started;
+
+        private ResetJob(int hideoutId, Location anchor, boolean priority, SlicedFill fill) {
+            this.hideoutId = hideoutId;
+            this.anchor = anchor;
+            this.submittedAt = System.currentTimeMillis();
+            this.future = new CompletableFuture<>();
+            this.priority = priority;
+            this.fill = fill;
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.solandra.hideout.manager;
+
+import com.sk89q.worldedit.extent.clipboard.BlockArrayClipboard;
+import com.sk89q.worldedit.extent.clipboard.Clipboard;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import com.solandra.hideout.settings.Settings;
+import com.solandra.hideout.utils.CuboidBounds;
+import org.mineacademy.fo.Common;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache de gabarits de mines pré-générés, utilisé lorsque le mode gabarit est activé.
+ * Pour chaque couple (table de distribution, dimensions de la mine), un petit lot de clipboards aléatoires
+ * est généré en arrière-plan avec une graine fixe. Les réinitialisations collent ensuite l'un d'eux
+ * au lieu d'écrire chaque bloc. Tant qu'un lot n'est pas prêt, l'appelant remplit la mine normalement.
+ * Les générations passent par un thread dédié avec une file bornée. Les clipboards d'un lot retiré du cache
+ * sont fermés dès qu'aucun collage ne les utilise plus, FAWE pouvant les stocker sur disque ou hors du tas.
+ */
+public class MineTemplateCache {
+    private static final String THREAD_NAME = "SolandraHideout-MineTemplate";
+    private static final int GENERATION_QUEUE_CAPACITY = 8;
+
+    // Messages constants
+    private static final String ERROR_TEMPLATE_GENERATION = "Impossible de générer le gabarit de mine %s";
+
+    private final Map<TemplateKey, TemplatePool> pools;
+    private final ExecutorService generator;
+
+    public MineTemplateCache() {
+        this.pools = new LinkedHashMap<>(16, 0.75f, true);
+        this.generator = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(GENERATION_QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, THREAD_NAME);
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Indique si le mode gabarit est activé dans la configuration.
+     *
+     * @return True si le mode gabarit est activé, sinon False.
+     */
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(Settings.MineTemplate.ENABLED);
+    }
+
+    /**
+     * Emprunte un gabarit prêt pour la distribution et les dimensions données.
+     * Si aucun lot n'est encore prêt, sa génération est lancée en arrière-plan.
+     * L'emprunt doit être fermé après le collage, pour que le gabarit puisse être libéré s'il quitte le cache.
+     *
+     * @param table  La table de distribution de la mine.
+     * @param bounds Les bornes de la mine.
+     * @return L'emprunt d'un gabarit dont l'origine est son coin minimal, ou null s'il n'est pas encore disponible.
+     */
+    public Lease acquire(MineBlockTable table, CuboidBounds bounds) {
+        TemplateKey key = new TemplateKey(table, bounds.getSizeX(), bounds.getSizeY(), bounds.getSizeZ());
+        TemplatePool pool;
+        boolean created = false;
+
+        synchronized (pools) {
+            pool = pools.get(key);
+            if (pool == null) {
+                pool = new TemplatePool();
+                pools.put(key, pool);
+                created = true;
+                evictOverflow();
+            }
+        }
+
+        if (created) {
+            generate(key, pool);
+        }
+
+        Clipboard clipboard = pool.tryAcquire();
+        return clipboard == null ? null : new Lease(pool, clipboard);
+    }
+
+    /**
+     * Vide le cache, par exemple après un rechargement des distributions.
+     */
+    public void clear() {
+        synchronized (pools) {
+            pools.values().forEach(TemplatePool::retire);
+            pools.clear();
+        }
+    }
+
+    /**
+     * Arrête le thread de génération et libère tous les gabarits.
+     */
+    public void shutdown() {
+        generator.shutdownNow();
+        clear();
+    }
+
+    // Méthodes privées
+
+    /**
+     * Supprime les lots les moins récemment utilisés au-delà de la limite configurée.
+     */
+    private void evictOverflow() {
+        int maxCached = Math.max(1, Settings.MineTemplate.MAX_CACHED);
+        Iterator<Map.Entry<TemplateKey, TemplatePool>> iterator = pools.entrySet().iterator();
+
+        while (pools.size() > maxCached && iterator.hasNext()) {
+            iterator.next().getValue().retire();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Génère en arrière-plan le lot de gabarits d'une clé. Si la file de génération est pleine,
+     * le lot est retiré et sera redemandé au prochain remplissage.
+     *
+     * @param key  La clé du lot.
+     * @param pool Le lot à remplir.
+     */
+    private void generate(TemplateKey key, TemplatePool pool) {
+        int poolSize = Math.max(1, Settings.MineTemplate.POOL_SIZE);
+        long seed = Settings.MineTemplate.SEED;
+
+        try {
+            CompletableFuture.runAsync(() -> {
+                CuboidBounds localBounds = new CuboidBounds(0, 0, 0, key.sizeX - 1, key.sizeY - 1, key.sizeZ - 1);
+                Clipboard[] clipboards = new Clipboard[poolSize];
+
+                for (int i = 0; i < poolSize; i++) {
+                    Random random = new Random(seed * 31 + key.hashDimensions() * 17L + i);
+                    BlockArrayClipboard clipboard = new BlockArrayClipboard(new CuboidRegion(
+                            BlockVector3.ZERO,
+                            BlockVector3.at(localBounds.getMaxX(), localBounds.getMaxY(), localBounds.getMaxZ())));
+                    clipboard.setOrigin(BlockVector3.ZERO);
+
+                    MineFiller.fill(clipboard, localBounds, key.table.getSampler(), random);
+                    clipboards[i] = clipboard;
+                }
+
+                pool.publish(clipboards);
+            }, generator).exceptionally(throwable -> {
+                Common.throwError(throwable, String.format(ERROR_TEMPLATE_GENERATION, key.sizeX + "x" + key.sizeY + "x" + key.sizeZ));
+                forget(key, pool);
+                return null;
+            });
+        } catch (RejectedExecutionException exception) {
+            forget(key, pool);
+        }
+    }
+
+    private void forget(TemplateKey key, TemplatePool pool) {
+        synchronized (pools) {
+            pools.remove(key, pool);
+        }
+        pool.retire();
+    }
+
+    /**
+     * Emprunt d'un gabarit, à fermer une fois le collage terminé.
+     */
+    public static final class Lease implements AutoCloseable {
+        private final TemplatePool pool;
+        private final Clipboard clipboard;
+        private boolean closed;
+
+        private Lease(TemplatePool pool, Clipboard clipboard) {
+            this.pool = pool;
+            this.clipboard = clipboard;
+        }
+
+        public Clipboard getClipboard() {
+            return clipboard;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                pool.release();
+            }
+        }
+    }
+
+    /**
+     * Lot de gabarits d'une clé, publié d'un seul coup une fois généré.
+     * Un lot retiré du cache ferme ses clipboards lorsque son dernier emprunt est rendu.
+     */
+    private static final class TemplatePool {
+        private Clipboard[] clipboards;
+        private int borrowers;
+        private boolean retired;
+
+        private synchronized Clipboard tryAcquire() {
+            if (retired || clipboards == null) {
+                return null;
+            }
+
+            borrowers++;
+            return clipboards[ThreadLocalRandom.current().nextInt(clipboards.length)];
+        }
+
+        private synchronized void release() {
+            if (--borrowers == 0 && retired) {
+                closeClipboards();
+            }
+        }
+
+        private synchronized void publish(Clipboard[] generated) {
+            clipboards = generated;
+            if (retired) {
+                closeClipboards();
+            }
+        }
+
+        private synchronized void retire() {
+            retired = true;
+            if (borrowers == 0) {
+                closeClipboards();
+            }
+        }
+
+        private void closeClipboards() {
+            if (clipboards == null) {
+                return;
+            }
+
+            for (Clipboard clipboard : clipboards) {
+                clipboard.close();
+            }
+            clipboards = null;
+        }
+    }
+
+    /**
+     * Clé d'un lot : la table de distribution (par identité) et les dimensions de la mine.
+     */
+    private static final class TemplateKey {
+        private final MineBlockTable table;
+        private final int sizeX;
+        private final int sizeY;
+        private final int sizeZ;
+
+        private TemplateKey(MineBlockTable table, int sizeX, int sizeY, int sizeZ) {
+            this.table = table;
+            this.sizeX = sizeX;
+            this.sizeY = sizeY;
+            this.sizeZ = sizeZ;
+        }
+
+        private int hashDimensions() {
+            return (sizeX * 31 + sizeY) * 31 + sizeZ;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof TemplateKey key)) {
+                return false;
+            }
+            return table == key.table && sizeX == key.sizeX && sizeY == key.sizeY && sizeZ == key.sizeZ;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(table) * 31 + hashDimensions();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.solandra.hideout.manager;
+
+import com.sk89q.worldedit.extent.clipboard.Clipboard;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.solandra.hideout.utils.Schematic;
+import org.mineacademy.fo.Common;
+
+import java.io.File;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cache des schématiques lues et décodées, indexé par chemin de fichier.
+ * Chaque accès compare seulement la date de modification du fichier : la schématique n'est relue
+ * que si le fichier a changé. Le clipboard mis en cache a déjà son origine placée en son centre
+ * et n'est jamais modifié ensuite.
+ * Un collage emprunte le clipboard via {@link #acquire(File)} : les clipboards de FAWE ne garantissent pas
+ * des lectures concurrentes, les collages d'une même schématique passent donc l'un après l'autre.
+ * Une schématique remplacée ou retirée du cache est fermée dès qu'aucun collage ne l'utilise plus,
+ * FAWE pouvant stocker le clipboard sur disque ou hors du tas.
+ */
+public class SchematicCache {
+
+    // Messages constants
+    private static final String LOG_SCHEMATIC_LOADED = "Schématique chargée en mémoire : %s (%dx%dx%d)";
+
+    private final ConcurrentMap<String, CachedSchematic> schematics;
+
+    public SchematicCache() {
+        this.schematics = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Charge au démarrage la schématique du hideout, collée à chaque création.
+     */
+    public void preload() {
+        get(Schematic.getHideout());
+    }
+
+    /**
+     * Retourne la schématique d'un fichier, relue seulement si le fichier a été modifié depuis la dernière lecture.
+     * Le clipboard n'est accessible que par un emprunt, voir {@link #acquire(File)}.
+     *
+     * @param schematicFile Le fichier de la schématique.
+     * @return La schématique, ou null si elle n'a pas pu être chargée.
+     */
+    public CachedSchematic get(File schematicFile) {
+        long lastModified = schematicFile.lastModified();
+        CachedSchematic cached = schematics.get(schematicFile.getPath());
+        if (cached != null && cached.lastModified == lastModified) {
+            return cached;
+        }
+
+        // Une seule lecture par fichier modifié, même si plusieurs éditions le demandent en même temps
+        return schematics.compute(schematicFile.getPath(), (path, current) -> {
+            if (current != null && current.lastModified == lastModified) {
+                return current;
+            }
+            if (current != null) {
+                current.retire();
+            }
+
+            Clipboard clipboard = Schematic.loadSchematic(schematicFile);
+            if (clipboard == null) {
+                return null;
+            }
+
+            clipboard.setOrigin(clipboard.getRegion().getCenter().toBlockPoint());
+            BlockVector3 dimensions = clipboard.getDimensions();
+            Common.log(String.format(LOG_SCHEMATIC_LOADED, path, dimensions.getX(), dimensions.getY(), dimensions.getZ()));
+            return new CachedSchematic(clipboard, lastModified);
+        });
+    }
+
+    /**
+     * Emprunte le clipboard d'une schématique pour un collage. L'appel attend la fin des autres collages
+     * de la même schématique. L'emprunt doit être fermé après le collage, par le thread qui l'a obtenu.
+     *
+     * @param schematicFile Le fichier de la schématique.
+     * @return L'emprunt, ou null si la schématique n'a pas pu être chargée.
+     */
+    public Lease acquire(File schematicFile) {
+        while (true) {
+            CachedSchematic schematic = get(schematicFile);
+            if (schematic == null) {
+                return null;
+            }
+
+            // La schématique a pu être remplacée entre la lecture du cache et l'emprunt
+            if (schematic.tryAcquire()) {
+                return new Lease(schematic);
+            }
+        }
+    }
+
+    /**
+     * Vide le cache : les schématiques seront relues au prochain accès.
+     * Les clipboards retirés sont fermés une fois les collages en cours terminés.
+     */
+    public void clear() {
+        for (String path : schematics.keySet()) {
+            CachedSchematic removed = schematics.remove(path);
+            if (removed != null) {
+                removed.retire();
+            }
+        }
+    }
+
+    /**
+     * Emprunt du clipboard d'une schématique, à fermer une fois le collage terminé.
+     */
+    public static final class Lease implements AutoCloseable {
+        private final CachedSchematic schematic;
+        private boolean closed;
+
+        private Lease(CachedSchematic schematic) {
+            this.schematic = schematic;
+        }
+
+        /**
+         * Retourne le clipboard, dont l'origine est son centre. Il ne doit pas être modifié.
+         *
+         * @return Le clipboard de la schématique.
+         */
+        public Clipboard getClipboard() {
+            return schematic.clipboard;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                schematic.release();
+            }
+        }
+    }
+
+    /**
+     * Schématique décodée, avec la date de modification du fichier lu.
+     * Une schématique retirée du cache ferme son clipboard lorsque son dernier emprunt est rendu.
+     */
+    public static final class CachedSchematic {
+        private final Clipboard clipboard;
+        private final BlockVector3 dimensions;
+        private final long lastModified;
+        private final ReentrantLock pasteLock;
+        private int borrowers;
+        private boolean retired;
+        private boolean closed;
+
+        private CachedSchematic(Clipboard clipboard, long lastModified) {
+            this.clipboard = clipboard;
+            this.dimensions = clipboard.getDimensions();
+            this.lastModified = lastModified;
+            this.pasteLock = new ReentrantLock();
+        }
+
+        public BlockVector3 getDimensions() {
+            return dimensions;
+        }
+
+        private boolean tryAcquire() {
+            synchronized (this) {
+                if (retired) {
+                    return false;
+                }
+                borrowers++;
+            }
+
+            pasteLock.lock();
+            return true;
+        }
+
+        private void release() {
+            pasteLock.unlock();
+
+            synchronized (this) {
+                if (--borrowers == 0 && retired) {
+                    close();
+                }
+            }
+        }
+
+        private synchronized void retire() {
+            retired = true;
+            if (borrowers == 0) {
+                close();
+            }
+        }
+
+        private void close() {
+            if (!closed) {
+                closed = true;
+                clipboard.close();
+            }
+        }
+    }
+}
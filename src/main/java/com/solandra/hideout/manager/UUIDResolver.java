@@ -0,0 +1,363 @@
+package com.solandra.hideout.manager;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.solandra.hideout.settings.Settings;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.mineacademy.fo.Common;
+import org.mineacademy.fo.FileUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Résout le nom d'un joueur en UUID sans bloquer le thread appelant.
+ * Les sources sont consultées dans l'ordre : joueurs en ligne, cache des joueurs du serveur (usercache.json),
+ * puis cache local persistant, qui garde aussi les noms inconnus pendant une durée plus courte.
+ * Les noms absents de ces caches sont regroupés pendant un court délai et envoyés par lots au service
+ * de profils configuré. Plusieurs recherches simultanées d'un même nom partagent la même réponse.
+ */
+public class UUIDResolver {
+    private static final String THREAD_NAME = "SolandraHideout-UUID";
+    private static final String CACHE_FILE_PATH = "/database/uuid-cache.json";
+    private static final String SERVER_USER_CACHE_FILE = "usercache.json";
+    private static final Pattern VALID_NAME = Pattern.compile("^[A-Za-z0-9_]{1,16}$");
+    private static final int MAX_NAMES_PER_REQUEST = 10;
+    private static final int HTTP_STATUS_OK = 200;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(5);
+
+    // Messages constants
+    private static final String ERROR_LOOKUP = "Impossible de récupérer l'uuid des joueurs %s";
+    private static final String ERROR_LOAD_CACHE = "Impossible de lire le cache des uuid %s";
+    private static final String ERROR_SAVE_CACHE = "Impossible d'enregistrer le cache des uuid %s";
+
+    private final Gson gson;
+    private final HttpClient httpClient;
+    private final ScheduledExecutorService scheduler;
+    private final File cacheFile;
+
+    private final ConcurrentMap<String, CachedUUID> localCache;
+    private final ConcurrentMap<String, CompletableFuture<Optional<UUID>>> pendingLookups;
+    private final List<String> batch;
+    private boolean flushScheduled;
+
+    private volatile Map<String, UUID> serverUserCache;
+    private volatile long serverUserCacheModified;
+
+    public UUIDResolver() {
+        this.gson = new Gson();
+        this.httpClient = HttpClient.newBuilder().connectTimeout(REQUEST_TIMEOUT).build();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.cacheFile = FileUtil.getOrMakeFile(CACHE_FILE_PATH);
+        this.localCache = new ConcurrentHashMap<>();
+        this.pendingLookups = new ConcurrentHashMap<>();
+        this.batch = new ArrayList<>();
+        this.serverUserCache = Map.of();
+        this.serverUserCacheModified = -1;
+    }
+
+    /**
+     * Charge en arrière-plan le cache local et le cache des joueurs du serveur.
+     */
+    public void load() {
+        scheduler.execute(() -> {
+            loadLocalCache();
+            reloadServerUserCache();
+        });
+    }
+
+    /**
+     * Recherche l'UUID d'un joueur à partir de son nom.
+     *
+     * @param playerName Le nom du joueur.
+     * @return Un CompletableFuture contenant l'UUID du joueur, ou un Optional.empty() s'il n'existe pas.
+     * Il est en erreur si le service de profils n'a pas pu être interrogé : le joueur n'est alors pas réputé inconnu.
+     */
+    public CompletableFuture<Optional<UUID>> resolve(String playerName) {
+        Player online = Bukkit.getPlayerExact(playerName);
+        if (online != null) {
+            return CompletableFuture.completedFuture(Optional.of(online.getUniqueId()));
+        }
+
+        if (!VALID_NAME.matcher(playerName).matches()) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+
+        String key = playerName.toLowerCase(Locale.ROOT);
+        UUID known = getServerUserCache().get(key);
+        if (known != null) {
+            return CompletableFuture.completedFuture(Optional.of(known));
+        }
+
+        CachedUUID cached = localCache.get(key);
+        if (cached != null && !cached.isExpired(System.currentTimeMillis())) {
+            return CompletableFuture.completedFuture(Optional.ofNullable(cached.uuid));
+        }
+
+        return pendingLookups.computeIfAbsent(key, name -> {
+            enqueue(name);
+            return new CompletableFuture<>();
+        });
+    }
+
+    /**
+     * Enregistre un couple nom et UUID connu avec certitude, par exemple à la connexion d'un joueur.
+     *
+     * @param playerName Le nom du joueur.
+     * @param uuid       L'UUID du joueur.
+     */
+    public void remember(String playerName, UUID uuid) {
+        localCache.put(playerName.toLowerCase(Locale.ROOT), new CachedUUID(uuid, expiresAt(true)));
+    }
+
+    /**
+     * Arrête le thread du résolveur et enregistre le cache local. Les recherches en attente reçoivent un résultat vide.
+     */
+    public void shutdown() {
+        scheduler.shutdownNow();
+        pendingLookups.forEach((name, future) -> future.complete(Optional.empty()));
+        pendingLookups.clear();
+        saveLocalCache();
+    }
+
+    // Méthodes privées
+
+    /**
+     * Ajoute un nom au prochain lot, et planifie l'envoi du lot s'il ne l'est pas déjà.
+     */
+    private void enqueue(String name) {
+        synchronized (batch) {
+            batch.add(name);
+            if (!flushScheduled) {
+                flushScheduled = true;
+                scheduler.schedule(this::flush, Math.max(0, Settings.PlayerLookup.BATCH_DELAY_MILLIS), TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Envoie les noms en attente au service de profils, par requêtes de {@value #MAX_NAMES_PER_REQUEST} noms au plus.
+     */
+    private void flush() {
+        List<String> names;
+        synchronized (batch) {
+            names = new ArrayList<>(batch);
+            batch.clear();
+            flushScheduled = false;
+        }
+
+        for (int from = 0; from < names.size(); from += MAX_NAMES_PER_REQUEST) {
+            lookup(new ArrayList<>(names.subList(from, Math.min(names.size(), from + MAX_NAMES_PER_REQUEST))));
+        }
+    }
+
+    /**
+     * Recherche un lot de noms auprès du service de profils.
+     * Les noms absents de la réponse sont gardés comme inconnus. En cas d'erreur, rien n'est mis en cache
+     * et les recherches en attente échouent avec cette erreur.
+     */
+    private void lookup(List<String> names) {
+        CompletableFuture<Map<String, UUID>> response;
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(Settings.PlayerLookup.ENDPOINT))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(gson.toJson(names)))
+                    .build();
+
+            response = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()).thenApply(httpResponse -> {
+                if (httpResponse.statusCode() != HTTP_STATUS_OK) {
+                    throw new IllegalStateException("HTTP " + httpResponse.statusCode());
+                }
+                return parseProfiles(httpResponse.body());
+            });
+        } catch (RuntimeException exception) {
+            // Adresse du service invalide
+            response = CompletableFuture.failedFuture(exception);
+        }
+
+        response.whenComplete((profiles, throwable) -> {
+            if (throwable != null) {
+                Common.throwError(throwable, String.format(ERROR_LOOKUP, names));
+                for (String name : names) {
+                    CompletableFuture<Optional<UUID>> future = pendingLookups.remove(name);
+                    if (future != null) {
+                        future.completeExceptionally(throwable);
+                    }
+                }
+                return;
+            }
+
+            for (String name : names) {
+                UUID uuid = profiles.get(name);
+                localCache.put(name, new CachedUUID(uuid, expiresAt(uuid != null)));
+
+                CompletableFuture<Optional<UUID>> future = pendingLookups.remove(name);
+                if (future != null) {
+                    future.complete(Optional.ofNullable(uuid));
+                }
+            }
+
+            if (!scheduler.isShutdown()) {
+                scheduler.execute(this::saveLocalCache);
+            }
+        });
+    }
+
+    /**
+     * Lit la réponse du service de profils : un tableau d'objets {"id": "...", "name": "..."}.
+     *
+     * @return Les UUID trouvés, indexés par nom en minuscules.
+     */
+    private Map<String, UUID> parseProfiles(String body) {
+        Map<String, UUID> profiles = new HashMap<>();
+
+        for (JsonElement element : JsonParser.parseString(body).getAsJsonArray()) {
+            JsonObject profile = element.getAsJsonObject();
+            profiles.put(profile.get("name").getAsString().toLowerCase(Locale.ROOT), parseUUID(profile.get("id").getAsString()));
+        }
+
+        return profiles;
+    }
+
+    /**
+     * Retourne le cache des joueurs du serveur, relu en arrière-plan si le fichier a changé.
+     */
+    private Map<String, UUID> getServerUserCache() {
+        File file = new File(Bukkit.getWorldContainer(), SERVER_USER_CACHE_FILE);
+        if (file.lastModified() != serverUserCacheModified && !scheduler.isShutdown()) {
+            scheduler.execute(this::reloadServerUserCache);
+        }
+        return serverUserCache;
+    }
+
+    private void reloadServerUserCache() {
+        File file = new File(Bukkit.getWorldContainer(), SERVER_USER_CACHE_FILE);
+        long lastModified = file.lastModified();
+        if (lastModified == serverUserCacheModified) {
+            return;
+        }
+
+        Map<String, UUID> entries = new HashMap<>();
+        if (file.exists()) {
+            try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+                for (JsonElement element : JsonParser.parseReader(reader).getAsJsonArray()) {
+                    JsonObject entry = element.getAsJsonObject();
+                    entries.put(entry.get("name").getAsString().toLowerCase(Locale.ROOT), UUID.fromString(entry.get("uuid").getAsString()));
+                }
+            } catch (IOException | RuntimeException exception) {
+                Common.throwError(exception, String.format(ERROR_LOAD_CACHE, file.getPath()));
+            }
+        }
+
+        serverUserCache = entries;
+        serverUserCacheModified = lastModified;
+    }
+
+    private void loadLocalCache() {
+        if (cacheFile.length() == 0) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        try (Reader reader = Files.newBufferedReader(cacheFile.toPath(), StandardCharsets.UTF_8)) {
+            JsonObject entries = JsonParser.parseReader(reader).getAsJsonObject();
+
+            for (Map.Entry<String, JsonElement> entry : entries.entrySet()) {
+                JsonObject value = entry.getValue().getAsJsonObject();
+                JsonElement uuid = value.get("uuid");
+                CachedUUID cached = new CachedUUID(uuid == null || uuid.isJsonNull() ? null : UUID.fromString(uuid.getAsString()), value.get("expiresAt").getAsLong());
+
+                if (!cached.isExpired(now)) {
+                    localCache.putIfAbsent(entry.getKey(), cached);
+                }
+            }
+        } catch (IOException | RuntimeException exception) {
+            Common.throwError(exception, String.format(ERROR_LOAD_CACHE, cacheFile.getPath()));
+        }
+    }
+
+    private synchronized void saveLocalCache() {
+        long now = System.currentTimeMillis();
+        JsonObject entries = new JsonObject();
+
+        localCache.forEach((name, cached) -> {
+            if (!cached.isExpired(now)) {
+                JsonObject value = new JsonObject();
+                value.addProperty("uuid", cached.uuid == null ? null : cached.uuid.toString());
+                value.addProperty("expiresAt", cached.expiresAt);
+                entries.add(name, value);
+            }
+        });
+
+        try (Writer writer = Files.newBufferedWriter(cacheFile.toPath(), StandardCharsets.UTF_8)) {
+            gson.toJson(entries, writer);
+        } catch (IOException exception) {
+            Common.throwError(exception, String.format(ERROR_SAVE_CACHE, cacheFile.getPath()));
+        }
+    }
+
+    private static long expiresAt(boolean found) {
+        long ttlMillis = found
+                ? TimeUnit.HOURS.toMillis(Math.max(0, Settings.PlayerLookup.CACHE_TTL_HOURS))
+                : TimeUnit.MINUTES.toMillis(Math.max(0, Settings.PlayerLookup.NEGATIVE_TTL_MINUTES));
+        return System.currentTimeMillis() + ttlMillis;
+    }
+
+    /**
+     * Convertit un UUID sans tirets, tel que renvoyé par le service de profils.
+     */
+    private static UUID parseUUID(String id) {
+        if (id.length() != 32) {
+            return UUID.fromString(id);
+        }
+        return new UUID(Long.parseUnsignedLong(id.substring(0, 16), 16), Long.parseUnsignedLong(id.substring(16), 16));
+    }
+
+    /**
+     * Entrée du cache local : un UUID, ou null pour un nom inconnu, et sa date d'expiration.
+     */
+    private static final class CachedUUID {
+        private final UUID uuid;
+        private final long expiresAt;
+
+        private CachedUUID(UUID uuid, long expiresAt) {
+            this.uuid = uuid;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
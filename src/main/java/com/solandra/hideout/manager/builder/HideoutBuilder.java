@@ -1,27 +1,31 @@
 package com.solandra.hideout.manager.builder;
 
-import com.sk89q.worldedit.extent.clipboard.Clipboard;
 import com.sk89q.worldedit.math.BlockVector3;
+import com.solandra.hideout.Main;
+import com.solandra.hideout.manager.SchematicCache.CachedSchematic;
 import com.solandra.hideout.model.Hideout;
 import com.solandra.hideout.model.Mine;
 import com.solandra.hideout.utils.Schematic;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.mineacademy.fo.Common;
 import org.mineacademy.fo.region.Region;
 
-import java.util.Optional;
-
 public class HideoutBuilder {
 
     private static final String WORLD_NAME = "Hideout";
-    private static final int INTERVAL_BETWEEN_HIDEOUTS = 300;
     private static final double MINE_PRIMARY_OFFSET_X = 215;
     private static final double MINE_PRIMARY_OFFSET_Y = 154;
     private static final double MINE_PRIMARY_OFFSET_Z = 176;
     private static final double MINE_SECONDARY_OFFSET_X = 165;
     private static final double MINE_SECONDARY_OFFSET_Y = 2;
     private static final double MINE_SECONDARY_OFFSET_Z = 126;
+
+    // Dimensions de la mine d'un nouveau hideout (niveau 0), bornes incluses
+    public static final int MINE_BASE_SIZE_X = (int) (MINE_PRIMARY_OFFSET_X - MINE_SECONDARY_OFFSET_X) + 1;
+    public static final int MINE_BASE_SIZE_Y = (int) (MINE_PRIMARY_OFFSET_Y - MINE_SECONDARY_OFFSET_Y) + 1;
+    public static final int MINE_BASE_SIZE_Z = (int) (MINE_PRIMARY_OFFSET_Z - MINE_SECONDARY_OFFSET_Z) + 1;
     private static final double SPAWN_OFFSET_X = 235.500;
     private static final double SPAWN_OFFSET_Y = 155;
     private static final double SPAWN_OFFSET_Z = 151.500;
@@ -30,16 +34,35 @@ public class HideoutBuilder {
 
     private static final String ERROR_CLIPBOARD_NULL = "Impossible de calculer la nouvelle région, Clipboard is null!";
 
-    public Hideout buildNewHideout(Hideout lastHideout) {
-        Location startLocation = determineStartLocation(lastHideout);
-        Clipboard clipboard = loadClipboard();
+    private final BlockVector3 dimensions;
+
+    private HideoutBuilder(BlockVector3 dimensions) {
+        this.dimensions = dimensions;
+    }
+
+    /**
+     * Crée un builder à partir des dimensions de la schématique du hideout, lue depuis le cache des schématiques.
+     *
+     * @return Le builder, ou null si la schématique n'a pas pu être chargée.
+     */
+    public static HideoutBuilder fromSchematic() {
+        CachedSchematic schematic = Main.getInstance().getSchematicCache().get(Schematic.getHideout());
 
-        if (clipboard == null) {
+        if (schematic == null) {
             Common.throwError(new IllegalArgumentException(ERROR_CLIPBOARD_NULL));
             return null;
         }
 
-        BlockVector3 dimensions = clipboard.getDimensions();
+        return new HideoutBuilder(schematic.getDimensions());
+    }
+
+    /**
+     * Construit un nouveau hideout à partir du coin primaire de sa région principale.
+     *
+     * @param startLocation Le coin primaire réservé pour le hideout.
+     * @return Le nouveau hideout, sans identifiant ni propriétaire.
+     */
+    public Hideout buildNewHideout(Location startLocation) {
         Region newMainRegion = createMainRegion(startLocation, dimensions);
         Mine newMine = createMineRegion(startLocation);
         Location spawnLocation = createSpawnLocation(startLocation);
@@ -47,24 +70,12 @@ public class HideoutBuilder {
         return new Hideout(0, newMainRegion, newMine, spawnLocation, 0);
     }
 
-    private Location determineStartLocation(Hideout lastHideout) {
-        Location startLocation = new Location(Bukkit.getWorld(WORLD_NAME), 0, 0, 0);
-
-        if (lastHideout != null) {
-            Region lastMainRegion = lastHideout.getMainRegion();
-            startLocation = lastMainRegion.getPrimary().clone().add(INTERVAL_BETWEEN_HIDEOUTS + getClipboardDimensions().getX(), 0, 0);
-        }
-
-        return startLocation;
-    }
-
-    private Clipboard loadClipboard() {
-        return Schematic.loadSchematic(Schematic.getHideout());
+    public BlockVector3 getDimensions() {
+        return dimensions;
     }
 
-    private BlockVector3 getClipboardDimensions() {
-        Clipboard clipboard = loadClipboard();
-        return clipboard != null ? clipboard.getDimensions() : BlockVector3.ZERO;
+    public World getWorld() {
+        return Bukkit.getWorld(WORLD_NAME);
     }
 
     private Region createMainRegion(Location startLocation, BlockVector3 dimensions) {
@@ -87,4 +98,4 @@ public class HideoutBuilder {
         spawnLocation.setPitch(SPAWN_PITCH);
         return spawnLocation;
     }
-}
\ No newline at end of file
+}
@@ -2,7 +2,6 @@ package com.solandra.hideout.menu;
 
 import com.solandra.hideout.Main;
 import com.solandra.hideout.manager.HideoutManager;
-import com.solandra.hideout.manager.MineManager;
 import com.solandra.hideout.model.Hideout;
 import net.brcdev.gangs.GangsPlugin;
 import net.brcdev.gangs.GangsPlusApi;
@@ -28,7 +27,6 @@ public class HideoutMenu extends Menu {
     private final Main plugin;
 
     private final HideoutManager hideoutManager;
-    private final MineManager mineManager;
 
     private final Hideout hideout;
     private final Button teleportButton;
@@ -45,7 +43,6 @@ public class HideoutMenu extends Menu {
         this.plugin = plugin;
 
         this.hideoutManager = plugin.getHideoutManager();
-        this.mineManager = plugin.getMineManager();
         this.hideout = hideout;
 
         setTitle("Grand coffre");
@@ -196,11 +193,8 @@ public class HideoutMenu extends Menu {
         }
 
         hideoutManager.getHideoutByGangOwnerId(gangExecutor.getId()).ifPresentOrElse(hideout -> {
-            hideout.setGangOwnerId(0);
-            hideoutManager.updateHideout(hideout);
             player.closeInventory();
-
-            hideoutManager.placeSchematicAtRegion(hideout.getMainRegion()).thenRun(() -> mineManager.resetMine(hideout));
+            hideoutManager.disbandHideout(hideout);
         }, () -> this.tellError("Aucun hideout trouvé."));
 
         GangsPlugin.getInstance().getGangManager().removeGang(gangExecutor);
@@ -1,27 +1,22 @@
 package com.solandra.hideout.model;
 
 import com.solandra.hideout.Main;
-import com.solandra.prisoncore.api.PlayerAPI;
-import com.solandra.prisoncore.model.PrisonPlayer;
-import net.brcdev.gangs.GangsPlugin;
-import net.brcdev.gangs.gang.Gang;
 import org.bukkit.Location;
-import org.bukkit.OfflinePlayer;
-import org.mineacademy.fo.Common;
 import org.mineacademy.fo.region.Region;
 
-import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Représente un hideout associé à un gang dans le jeu.
  * Un hideout comprend une région principale, une mine, un point d'apparition et un propriétaire (gang).
+ * Le propriétaire et l'état de la mine peuvent être lus sans verrou depuis n'importe quel thread.
  */
 public class Hideout {
-    private int id;
+    private volatile int id;
     private final Region mainRegion;
     private final Mine mine;
     private final Location spawnLocation;
-    private int gangOwnerId;
+    private final AtomicInteger gangOwnerId;
 
     /**
      * Constructeur complet pour la classe Hideout.
@@ -37,7 +32,7 @@ public class Hideout {
         this.mainRegion = mainRegion;
         this.mine = mine;
         this.spawnLocation = spawnLocation;
-        this.gangOwnerId = gangOwnerId;
+        this.gangOwnerId = new AtomicInteger(gangOwnerId);
     }
 
     /**
@@ -91,7 +86,7 @@ public class Hideout {
      * @return L'identifiant du gang propriétaire.
      */
     public int getGangOwnerId() {
-        return gangOwnerId;
+        return gangOwnerId.get();
     }
 
     /**
@@ -100,36 +95,26 @@ public class Hideout {
      * @param gangOwnerId Le nouvel identifiant du gang propriétaire.
      */
     public void setGangOwnerId(int gangOwnerId) {
-        this.gangOwnerId = gangOwnerId;
+        this.gangOwnerId.set(gangOwnerId);
     }
 
     /**
-     * Calcule le prestige total du gang en parcourant les membres du gang et en additionnant leur prestige.
-     * Cette méthode fonctionne de manière asynchrone pour les membres hors-ligne.
+     * Change le gang propriétaire uniquement s'il n'a pas changé depuis sa lecture.
      *
-     * @return Un CompletableFuture contenant le prestige total du gang.
+     * @param expected    L'identifiant du gang propriétaire attendu.
+     * @param gangOwnerId Le nouvel identifiant du gang propriétaire.
+     * @return True si le propriétaire a été changé, sinon False.
      */
-    public Integer getPrestige() {
-        Gang gang = GangsPlugin.getInstance().getGangManager().getGang(this.gangOwnerId);
-        if (gang == null) {
-            Common.throwError(new NullPointerException(), "Gang is null");
-            return 0;
-        }
-
-        PlayerAPI playerAPI = Main.getInstance().getPlayerAPI();
-        if (playerAPI == null) {
-            Common.throwError(new NullPointerException(), "PlayerAPI is null");
-            return 0;
-        }
-
-        int prestigeTotal = 0;
-        for (OfflinePlayer member : gang.getAllMembers()) {
-            Optional<PrisonPlayer> prisonPlayer = playerAPI.getPlayer(member.getUniqueId());
-            if (prisonPlayer.isPresent()) {
-                prestigeTotal += prisonPlayer.get().getPrestige();
-            }
-        }
+    public boolean compareAndSetGangOwnerId(int expected, int gangOwnerId) {
+        return this.gangOwnerId.compareAndSet(expected, gangOwnerId);
+    }
 
-        return prestigeTotal;
+    /**
+     * Retourne le prestige total du gang propriétaire, tenu à jour par {@link com.solandra.hideout.manager.GangPrestigeCache}.
+     *
+     * @return Le prestige total du gang, ou 0 si le hideout n'a pas de propriétaire.
+     */
+    public Integer getPrestige() {
+        return Main.getInstance().getGangPrestigeCache().getPrestige(this.gangOwnerId.get());
     }
 }
\ No newline at end of file
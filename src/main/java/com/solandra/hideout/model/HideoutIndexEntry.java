@@ -0,0 +1,56 @@
+package com.solandra.hideout.model;
+
+import org.bukkit.Location;
+
+/**
+ * Entrée légère de l'index des hideouts : identifiant, gang propriétaire et emplacement.
+ * Chaque hideout connu possède une entrée, qu'il soit chargé en mémoire ou non.
+ */
+public final class HideoutIndexEntry {
+    private final int id;
+    private final int gangOwnerId;
+    private final int slotX;
+    private final int slotZ;
+
+    /**
+     * Constructeur complet pour la classe HideoutIndexEntry.
+     *
+     * @param id          L'identifiant du hideout.
+     * @param gangOwnerId L'identifiant du gang propriétaire, ou 0 si le hideout est libre.
+     * @param slotX       La coordonnée X du coin primaire de la région principale.
+     * @param slotZ       La coordonnée Z du coin primaire de la région principale.
+     */
+    public HideoutIndexEntry(int id, int gangOwnerId, int slotX, int slotZ) {
+        this.id = id;
+        this.gangOwnerId = gangOwnerId;
+        this.slotX = slotX;
+        this.slotZ = slotZ;
+    }
+
+    /**
+     * Construit l'entrée d'un hideout chargé.
+     *
+     * @param hideout Le hideout.
+     * @return L'entrée correspondante.
+     */
+    public static HideoutIndexEntry of(Hideout hideout) {
+        Location primary = hideout.getMainRegion().getPrimary();
+        return new HideoutIndexEntry(hideout.getId(), hideout.getGangOwnerId(), primary.getBlockX(), primary.getBlockZ());
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public int getGangOwnerId() {
+        return gangOwnerId;
+    }
+
+    public int getSlotX() {
+        return slotX;
+    }
+
+    public int getSlotZ() {
+        return slotZ;
+    }
+}
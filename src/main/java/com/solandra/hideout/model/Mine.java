@@ -2,12 +2,24 @@ package com.solandra.hideout.model;
 
 import org.mineacademy.fo.collection.SerializedMap;
 import org.mineacademy.fo.model.ConfigSerializable;
+import org.bukkit.Location;
 import org.mineacademy.fo.region.Region;
 
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * Mine d'un hideout. Sa région et son niveau forment un état immuable et versionné, remplacé par
+ * compare-and-set : un lecteur ne verrouille jamais et voit toujours une région et un niveau cohérents.
+ */
 public class Mine implements ConfigSerializable {
 
-    private final Region region;
-    private int level;
+    private final AtomicReference<State> state;
+
+    // Compteurs en mémoire (non sérialisés), -1 tant que la mine n'a pas été remplie depuis le démarrage
+    private final AtomicLong blocksTotal = new AtomicLong(-1);
+    private final AtomicLong blocksRemaining = new AtomicLong(-1);
 
     /**
      * Constructeur pour la classe Mine.
@@ -16,17 +28,54 @@ public class Mine implements ConfigSerializable {
      * @param level  Le niveau initial de la mine.
      */
     public Mine(Region region, int level) {
-        this.region = region;
-        this.level = level;
+        this.state = new AtomicReference<>(new State(copyOf(region), level, 0));
+    }
+
+    /**
+     * Retourne l'état actuel de la mine (région, niveau et version lus ensemble).
+     *
+     * @return L'état actuel de la mine.
+     */
+    public State getState() {
+        return state.get();
+    }
+
+    /**
+     * Remplace l'état de la mine s'il n'a pas changé depuis sa lecture. La version est incrémentée.
+     *
+     * @param expected L'état lu avant le calcul du nouvel état.
+     * @param updated  Le nouvel état.
+     * @return True si l'état a été remplacé, False si un autre thread l'a modifié entre-temps.
+     */
+    public boolean compareAndSet(State expected, State updated) {
+        return publish(expected, updated) != null;
+    }
+
+    /**
+     * Applique une modification à l'état de la mine, en la recalculant tant qu'un autre thread
+     * a modifié l'état entre la lecture et l'écriture.
+     *
+     * @param update La fonction calculant le nouvel état à partir de l'état courant.
+     * @return Le nouvel état publié.
+     */
+    public State update(UnaryOperator<State> update) {
+        while (true) {
+            State current = state.get();
+            State published = publish(current, update.apply(current));
+            if (published != null) {
+                return published;
+            }
+        }
     }
 
     /**
      * Retourne la région associée à cette mine.
+     * La région appartient à l'état publié et ne doit pas être modifiée.
      *
      * @return La région de la mine.
      */
     public Region getRegion() {
-        return region;
+        return state.get().region;
     }
 
     /**
@@ -35,7 +84,7 @@ public class Mine implements ConfigSerializable {
      * @return Le niveau actuel de la mine.
      */
     public int getLevel() {
-        return level;
+        return state.get().level;
     }
 
     /**
@@ -44,14 +93,14 @@ public class Mine implements ConfigSerializable {
      * @param level Le nouveau niveau à définir.
      */
     public void setLevel(int level) {
-        this.level = level;
+        update(current -> current.withLevel(level));
     }
 
     /**
      * Incrémente le niveau de la mine d'une unité.
      */
     public void addLevel() {
-        this.level += 1;
+        update(current -> current.withLevel(current.level + 1));
     }
 
     /**
@@ -60,8 +109,84 @@ public class Mine implements ConfigSerializable {
      * @param region La nouvelle région à définir pour la mine.
      */
     public void setMineRegion(Region region) {
-        this.region.setPrimary(region.getPrimary());
-        this.region.setSecondary(region.getSecondary());
+        update(current -> current.withRegion(region));
+    }
+
+    /**
+     * Réinitialise les compteurs de blocs après un remplissage complet de la mine.
+     *
+     * @param total Le nombre de blocs de la mine.
+     */
+    public void resetBlockCounter(long total) {
+        this.blocksTotal.set(total);
+        this.blocksRemaining.set(total);
+    }
+
+    /**
+     * Initialise les compteurs de blocs d'une mine chargée, s'ils sont encore inconnus.
+     *
+     * @param total     Le nombre de blocs de la mine.
+     * @param remaining Le nombre de blocs restants.
+     */
+    public void restoreBlockCounter(long total, long remaining) {
+        if (this.blocksTotal.compareAndSet(-1, total)) {
+            this.blocksRemaining.set(Math.max(0, Math.min(remaining, total)));
+        }
+    }
+
+    /**
+     * Agrandit les compteurs de blocs après le remplissage des nouvelles cellules d'une mine améliorée.
+     *
+     * @param blocks Le nombre de blocs ajoutés à la mine.
+     */
+    public void growBlockCounter(long blocks) {
+        if (this.blocksTotal.get() >= 0) {
+            this.blocksTotal.addAndGet(blocks);
+            this.blocksRemaining.addAndGet(blocks);
+        }
+    }
+
+    /**
+     * Ajoute des blocs au compteur de blocs restants, après un remplissage partiel.
+     *
+     * @param blocks Le nombre de blocs replacés.
+     */
+    public void addBlocksRemaining(long blocks) {
+        if (this.blocksRemaining.get() >= 0) {
+            this.blocksRemaining.updateAndGet(remaining -> Math.min(remaining + blocks, this.blocksTotal.get()));
+        }
+    }
+
+    /**
+     * Retire un bloc du compteur de blocs restants.
+     *
+     * @return Le nombre de blocs restants, ou -1 si le compteur est inconnu.
+     */
+    public long decrementBlocksRemaining() {
+        return this.blocksRemaining.updateAndGet(remaining -> remaining > 0 ? remaining - 1 : remaining);
+    }
+
+    /**
+     * Retourne le nombre de blocs restants dans la mine.
+     *
+     * @return Le nombre de blocs restants, ou -1 si le compteur est inconnu.
+     */
+    public long getBlocksRemaining() {
+        return this.blocksRemaining.get();
+    }
+
+    /**
+     * Retourne le pourcentage de blocs minés depuis le dernier remplissage complet.
+     *
+     * @return Le pourcentage miné, ou 0 si le compteur est inconnu.
+     */
+    public double getMinedPercentage() {
+        long total = this.blocksTotal.get();
+        long remaining = this.blocksRemaining.get();
+        if (total <= 0 || remaining < 0) {
+            return 0;
+        }
+        return (total - remaining) * 100.0 / total;
     }
 
     /**
@@ -71,9 +196,10 @@ public class Mine implements ConfigSerializable {
      */
     @Override
     public SerializedMap serialize() {
+        State current = state.get();
         return SerializedMap.ofArray(
-                "MineRegion", this.region.serialize(),
-                "Level", this.level
+                "MineRegion", current.region.serialize(),
+                "Level", current.level
         );
     }
 
@@ -89,4 +215,73 @@ public class Mine implements ConfigSerializable {
 
         return new Mine(mineRegion, level);
     }
-}
\ No newline at end of file
+
+    /**
+     * Publie un nouvel état, avec la version suivant celle de l'état attendu.
+     *
+     * @return L'état publié, ou null si l'état courant n'est plus l'état attendu.
+     */
+    private State publish(State expected, State updated) {
+        State published = new State(updated.region, updated.level, expected.version + 1);
+        return state.compareAndSet(expected, published) ? published : null;
+    }
+
+    /**
+     * Copie une région pour que l'état publié ne partage aucune position modifiable avec l'appelant.
+     *
+     * @param region La région à copier.
+     * @return Une nouvelle région aux mêmes coordonnées.
+     */
+    private static Region copyOf(Region region) {
+        Location primary = region.getPrimary();
+        Location secondary = region.getSecondary();
+        return new Region(primary == null ? null : primary.clone(), secondary == null ? null : secondary.clone());
+    }
+
+    /**
+     * État immuable de la mine : sa région, son niveau et le numéro de version de cet état.
+     */
+    public static final class State {
+        private final Region region;
+        private final int level;
+        private final long version;
+
+        private State(Region region, int level, long version) {
+            this.region = region;
+            this.level = level;
+            this.version = version;
+        }
+
+        public Region getRegion() {
+            return region;
+        }
+
+        public int getLevel() {
+            return level;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        /**
+         * Retourne une copie de cet état avec un autre niveau.
+         *
+         * @param level Le nouveau niveau.
+         * @return Le nouvel état.
+         */
+        public State withLevel(int level) {
+            return new State(region, level, version);
+        }
+
+        /**
+         * Retourne une copie de cet état avec une autre région.
+         *
+         * @param region La nouvelle région, copiée.
+         * @return Le nouvel état.
+         */
+        public State withRegion(Region region) {
+            return new State(copyOf(region), level, version);
+        }
+    }
+}
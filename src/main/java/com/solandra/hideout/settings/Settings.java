@@ -1,5 +1,6 @@
 package com.solandra.hideout.settings;
 
+import org.mineacademy.fo.collection.SerializedMap;
 import org.mineacademy.fo.settings.SimpleSettings;
 
 import java.util.List;
@@ -7,9 +8,127 @@ import java.util.List;
 public final class Settings extends SimpleSettings {
     public static String LOG_PREFIX;
     public static List<String> ALIASES;
+    public static SerializedMap MINE_DISTRIBUTION;
 
     private static void init() {
+        setPathPrefix(null);
+
         LOG_PREFIX = getString("Log_Prefix");
         ALIASES = getStringList("Aliases");
+        MINE_DISTRIBUTION = getMap("Mine_Distribution");
+    }
+
+    public static class Database {
+        public static Integer FLUSH_INTERVAL_TICKS;
+        public static Integer READ_CONNECTIONS;
+
+        private static void init() {
+            setPathPrefix("Database");
+
+            FLUSH_INTERVAL_TICKS = getInteger("Flush_Interval_Ticks");
+            READ_CONNECTIONS = getInteger("Read_Connections");
+        }
+    }
+
+    public static class MineReset {
+        public static Integer BLOCKS_PER_TICK;
+        public static Integer AUTO_RESET_PERCENTAGE;
+        public static Integer AUTO_RESET_COOLDOWN_SECONDS;
+
+        private static void init() {
+            setPathPrefix("Mine_Reset");
+
+            BLOCKS_PER_TICK = getInteger("Blocks_Per_Tick");
+            AUTO_RESET_PERCENTAGE = getInteger("Auto_Reset_Percentage");
+            AUTO_RESET_COOLDOWN_SECONDS = getInteger("Auto_Reset_Cooldown_Seconds");
+        }
+    }
+
+    public static class HideoutCache {
+        public static Boolean LAZY_LOADING;
+        public static Integer MAX_LOADED;
+
+        private static void init() {
+            setPathPrefix("Hideout_Cache");
+
+            LAZY_LOADING = getBoolean("Lazy_Loading");
+            MAX_LOADED = getInteger("Max_Loaded");
+        }
+    }
+
+    public static class PrestigeCache {
+        public static Integer TTL_SECONDS;
+
+        private static void init() {
+            setPathPrefix("Prestige_Cache");
+
+            TTL_SECONDS = getInteger("Ttl_Seconds");
+        }
+    }
+
+    public static class EditExecutor {
+        public static Integer CONCURRENT_EDITS;
+        public static Integer QUEUE_CAPACITY;
+
+        private static void init() {
+            setPathPrefix("Edit_Executor");
+
+            CONCURRENT_EDITS = getInteger("Concurrent_Edits");
+            QUEUE_CAPACITY = getInteger("Queue_Capacity");
+        }
+    }
+
+    public static class WarmPool {
+        public static Integer SIZE;
+        public static Integer CHECK_INTERVAL_SECONDS;
+
+        private static void init() {
+            setPathPrefix("Warm_Pool");
+
+            SIZE = getInteger("Size");
+            CHECK_INTERVAL_SECONDS = getInteger("Check_Interval_Seconds");
+        }
+    }
+
+    public static class PlayerLookup {
+        public static String ENDPOINT;
+        public static Integer CACHE_TTL_HOURS;
+        public static Integer NEGATIVE_TTL_MINUTES;
+        public static Integer BATCH_DELAY_MILLIS;
+
+        private static void init() {
+            setPathPrefix("Player_Lookup");
+
+            ENDPOINT = getString("Endpoint");
+            CACHE_TTL_HOURS = getInteger("Cache_Ttl_Hours");
+            NEGATIVE_TTL_MINUTES = getInteger("Negative_Ttl_Minutes");
+            BATCH_DELAY_MILLIS = getInteger("Batch_Delay_Millis");
+        }
+    }
+
+    public static class MineTemplate {
+        public static Boolean ENABLED;
+        public static Integer POOL_SIZE;
+        public static Integer MAX_CACHED;
+        public static Integer SEED;
+
+        private static void init() {
+            setPathPrefix("Mine_Template");
+
+            ENABLED = getBoolean("Enabled");
+            POOL_SIZE = getInteger("Pool_Size");
+            MAX_CACHED = getInteger("Max_Cached");
+            SEED = getInteger("Seed");
+        }
+    }
+
+    public static class MineUpgrade {
+        public static Boolean FULL_REFILL;
+
+        private static void init() {
+            setPathPrefix("Mine_Upgrade");
+
+            FULL_REFILL = getBoolean("Full_Refill");
+        }
     }
 }
@@ -0,0 +1,193 @@
+package com.solandra.hideout.utils;
+
+import org.bukkit.Location;
+import org.mineacademy.fo.region.Region;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bornes entières et immuables d'un cuboïde (coordonnées de blocs, bornes incluses).
+ * Permet de parcourir ou de mesurer une région sans créer d'objet par bloc.
+ */
+public final class CuboidBounds {
+    private final int minX;
+    private final int minY;
+    private final int minZ;
+    private final int maxX;
+    private final int maxY;
+    private final int maxZ;
+
+    /**
+     * Construit les bornes à partir de deux coins opposés, dans n'importe quel ordre.
+     */
+    public CuboidBounds(int x1, int y1, int z1, int x2, int y2, int z2) {
+        this.minX = Math.min(x1, x2);
+        this.minY = Math.min(y1, y2);
+        this.minZ = Math.min(z1, z2);
+        this.maxX = Math.max(x1, x2);
+        this.maxY = Math.max(y1, y2);
+        this.maxZ = Math.max(z1, z2);
+    }
+
+    /**
+     * Calcule les bornes d'une région Foundation à partir de ses points primaire et secondaire.
+     *
+     * @param region La région à convertir.
+     * @return Les bornes de la région.
+     */
+    public static CuboidBounds of(Region region) {
+        Location primary = region.getPrimary();
+        Location secondary = region.getSecondary();
+        return new CuboidBounds(
+                primary.getBlockX(), primary.getBlockY(), primary.getBlockZ(),
+                secondary.getBlockX(), secondary.getBlockY(), secondary.getBlockZ()
+        );
+    }
+
+    public int getMinX() {
+        return minX;
+    }
+
+    public int getMinY() {
+        return minY;
+    }
+
+    public int getMinZ() {
+        return minZ;
+    }
+
+    public int getMaxX() {
+        return maxX;
+    }
+
+    public int getMaxY() {
+        return maxY;
+    }
+
+    public int getMaxZ() {
+        return maxZ;
+    }
+
+    public int getSizeX() {
+        return maxX - minX + 1;
+    }
+
+    public int getSizeY() {
+        return maxY - minY + 1;
+    }
+
+    public int getSizeZ() {
+        return maxZ - minZ + 1;
+    }
+
+    /**
+     * Retourne le nombre de blocs contenus dans le cuboïde.
+     *
+     * @return Le volume du cuboïde.
+     */
+    public long getVolume() {
+        return (long) getSizeX() * getSizeY() * getSizeZ();
+    }
+
+    /**
+     * Vérifie si une position de bloc se trouve dans le cuboïde.
+     *
+     * @return True si la position est contenue, sinon False.
+     */
+    public boolean contains(int x, int y, int z) {
+        return x >= minX && x <= maxX
+                && y >= minY && y <= maxY
+                && z >= minZ && z <= maxZ;
+    }
+
+    /**
+     * Retourne l'intersection de ce cuboïde avec un autre.
+     *
+     * @param other L'autre cuboïde.
+     * @return L'intersection, ou null si les cuboïdes ne se chevauchent pas.
+     */
+    public CuboidBounds intersect(CuboidBounds other) {
+        int x1 = Math.max(minX, other.minX);
+        int y1 = Math.max(minY, other.minY);
+        int z1 = Math.max(minZ, other.minZ);
+        int x2 = Math.min(maxX, other.maxX);
+        int y2 = Math.min(maxY, other.maxY);
+        int z2 = Math.min(maxZ, other.maxZ);
+
+        if (x1 > x2 || y1 > y2 || z1 > z2) {
+            return null;
+        }
+        return new CuboidBounds(x1, y1, z1, x2, y2, z2);
+    }
+
+    /**
+     * Découpe la partie de ce cuboïde qui n'appartient pas à un autre en au plus six cuboïdes disjoints.
+     *
+     * @param other Le cuboïde à retirer.
+     * @return Les cuboïdes restants, vide si ce cuboïde est entièrement contenu dans l'autre.
+     */
+    public List<CuboidBounds> subtract(CuboidBounds other) {
+        CuboidBounds overlap = intersect(other);
+        List<CuboidBounds> pieces = new ArrayList<>();
+
+        if (overlap == null) {
+            pieces.add(this);
+            return pieces;
+        }
+
+        // Tranches en X sur toute la hauteur et la profondeur
+        if (minX < overlap.minX) {
+            pieces.add(new CuboidBounds(minX, minY, minZ, overlap.minX - 1, maxY, maxZ));
+        }
+        if (maxX > overlap.maxX) {
+            pieces.add(new CuboidBounds(overlap.maxX + 1, minY, minZ, maxX, maxY, maxZ));
+        }
+
+        // Tranches en Y, limitées à la largeur de l'intersection
+        if (minY < overlap.minY) {
+            pieces.add(new CuboidBounds(overlap.minX, minY, minZ, overlap.maxX, overlap.minY - 1, maxZ));
+        }
+        if (maxY > overlap.maxY) {
+            pieces.add(new CuboidBounds(overlap.minX, overlap.maxY + 1, minZ, overlap.maxX, maxY, maxZ));
+        }
+
+        // Tranches en Z, limitées à la largeur et à la hauteur de l'intersection
+        if (minZ < overlap.minZ) {
+            pieces.add(new CuboidBounds(overlap.minX, overlap.minY, minZ, overlap.maxX, overlap.maxY, overlap.minZ - 1));
+        }
+        if (maxZ > overlap.maxZ) {
+            pieces.add(new CuboidBounds(overlap.minX, overlap.minY, overlap.maxZ + 1, overlap.maxX, overlap.maxY, maxZ));
+        }
+
+        return pieces;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof CuboidBounds bounds)) {
+            return false;
+        }
+        return minX == bounds.minX && minY == bounds.minY && minZ == bounds.minZ
+                && maxX == bounds.maxX && maxY == bounds.maxY && maxZ == bounds.maxZ;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = minX;
+        result = 31 * result + minY;
+        result = 31 * result + minZ;
+        result = 31 * result + maxX;
+        result = 31 * result + maxY;
+        result = 31 * result + maxZ;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + minX + ", " + minY + ", " + minZ + ") -> (" + maxX + ", " + maxY + ", " + maxZ + ")";
+    }
+}
@@ -0,0 +1,93 @@
+package com.solandra.hideout.utils;
+
+import java.util.List;
+
+/**
+ * Découpe une suite de cuboïdes en tranches disjointes d'au plus un nombre de blocs donné.
+ * Chaque tranche prend autant de couches Y entières que possible, puis des rangées Z entières d'une couche,
+ * puis un segment d'une rangée : une tranche reste un cuboïde, et l'ordre de parcours est celui de
+ * {@link com.solandra.hideout.manager.MineFiller} (Y, puis Z, puis X).
+ * Le découpage n'est pas thread-safe.
+ */
+public final class CuboidSlicer {
+    private final List<CuboidBounds> cuboids;
+    private int index;
+    private int x;
+    private int y;
+    private int z;
+
+    /**
+     * Crée le découpage des cuboïdes donnés, parcourus dans l'ordre de la liste.
+     *
+     * @param cuboids Les cuboïdes à découper.
+     */
+    public CuboidSlicer(List<CuboidBounds> cuboids) {
+        this.cuboids = List.copyOf(cuboids);
+        this.index = -1;
+        nextCuboid();
+    }
+
+    /**
+     * Retourne la tranche suivante.
+     *
+     * @param maxBlocks Le nombre maximal de blocs de la tranche, au moins 1.
+     * @return La tranche, ou null si tous les cuboïdes ont été parcourus.
+     */
+    public CuboidBounds next(long maxBlocks) {
+        if (index >= cuboids.size()) {
+            return null;
+        }
+
+        long limit = Math.max(1, maxBlocks);
+        CuboidBounds cuboid = cuboids.get(index);
+        long row = cuboid.getSizeX();
+        long layer = row * cuboid.getSizeZ();
+        CuboidBounds slice;
+
+        if (x == cuboid.getMinX() && z == cuboid.getMinZ() && layer <= limit) {
+            int layers = (int) Math.min(cuboid.getMaxY() - y + 1, limit / layer);
+            slice = new CuboidBounds(cuboid.getMinX(), y, cuboid.getMinZ(), cuboid.getMaxX(), y + layers - 1, cuboid.getMaxZ());
+            y += layers;
+        } else if (x == cuboid.getMinX() && row <= limit) {
+            int rows = (int) Math.min(cuboid.getMaxZ() - z + 1, limit / row);
+            slice = new CuboidBounds(cuboid.getMinX(), y, z, cuboid.getMaxX(), y, z + rows - 1);
+            z += rows;
+        } else {
+            int length = (int) Math.min(cuboid.getMaxX() - x + 1, limit);
+            slice = new CuboidBounds(x, y, z, x + length - 1, y, z);
+            x += length;
+        }
+
+        advance(cuboid);
+        return slice;
+    }
+
+    // Méthodes privées
+
+    /**
+     * Reporte le curseur sur la rangée, la couche ou le cuboïde suivant lorsque le courant est terminé.
+     */
+    private void advance(CuboidBounds cuboid) {
+        if (x > cuboid.getMaxX()) {
+            x = cuboid.getMinX();
+            z++;
+        }
+        if (z > cuboid.getMaxZ()) {
+            z = cuboid.getMinZ();
+            y++;
+        }
+        if (y > cuboid.getMaxY()) {
+            nextCuboid();
+        }
+    }
+
+    private void nextCuboid() {
+        index++;
+        if (index < cuboids.size()) {
+            CuboidBounds cuboid = cuboids.get(index);
+            x = cuboid.getMinX();
+            y = cuboid.getMinY();
+            z = cuboid.getMinZ();
+        }
+    }
+}
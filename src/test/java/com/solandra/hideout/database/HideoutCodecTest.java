@@ -0,0 +1,217 @@
+package com.solandra.hideout.database;
+
+import com.solandra.hideout.model.Hideout;
+import com.solandra.hideout.model.Mine;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mineacademy.fo.region.Region;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class HideoutCodecTest {
+    private World overworld;
+    private World nether;
+    private Map<String, World> worldsByName;
+    private List<String> resolvedNames;
+
+    @BeforeEach
+    void setUp() {
+        overworld = world("hideouts");
+        nether = world("hideouts_nether");
+        worldsByName = Map.of(overworld.getName(), overworld, nether.getName(), nether);
+        resolvedNames = new ArrayList<>();
+    }
+
+    @Test
+    void snapshotRoundTripKeepsEveryField() throws IOException {
+        List<Hideout> hideouts = List.of(
+                hideout(1, 10, overworld, 0, 5),
+                hideout(2, 20, nether, -1_000, 12),
+                hideout(3, 30, overworld, 29_999_984, 0));
+
+        List<Hideout> decoded = read(write(hideouts));
+
+        assertEquals(hideouts.size(), decoded.size());
+        for (int i = 0; i < hideouts.size(); i++) {
+            assertSameHideout(hideouts.get(i), decoded.get(i));
+        }
+    }
+
+    @Test
+    void varIntEdgesRoundTrip() throws IOException {
+        int[] values = {0, 1, 127, 128, 16_383, 16_384, 2_097_151, 2_097_152, 268_435_455, 268_435_456,
+                Integer.MAX_VALUE, -1, Integer.MIN_VALUE};
+
+        for (int value : values) {
+            Hideout decoded = read(write(List.of(hideout(value, value, overworld, 0, value)))).get(0);
+
+            assertEquals(value, decoded.getId());
+            assertEquals(value, decoded.getGangOwnerId());
+            assertEquals(value, decoded.getMine().getLevel());
+        }
+    }
+
+    @Test
+    void worldNamesAreWrittenAndResolvedOnce() throws IOException {
+        List<Hideout> hideouts = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            hideouts.add(hideout(i, i, i % 2 == 0 ? overworld : nether, i * 200, 1));
+        }
+
+        byte[] data = write(hideouts);
+        List<Hideout> decoded = read(data);
+
+        assertEquals(1, occurrences(data, nether.getName()));
+        assertEquals(List.of(overworld.getName(), nether.getName()), resolvedNames);
+        for (int i = 0; i < decoded.size(); i++) {
+            World expected = i % 2 == 0 ? overworld : nether;
+            assertSame(expected, decoded.get(i).getMainRegion().getPrimary().getWorld());
+            assertSame(expected, decoded.get(i).getMine().getRegion().getSecondary().getWorld());
+            assertSame(expected, decoded.get(i).getSpawnLocation().getWorld());
+        }
+    }
+
+    @Test
+    void unloadedWorldGivesLocationsWithoutWorld() throws IOException {
+        worldsByName = Map.of();
+
+        Hideout decoded = read(write(List.of(hideout(1, 1, overworld, 0, 1)))).get(0);
+
+        assertNull(decoded.getMainRegion().getPrimary().getWorld());
+        assertNull(decoded.getSpawnLocation().getWorld());
+    }
+
+    @Test
+    void truncatedDataIsRejected() throws IOException {
+        byte[] data = write(List.of(hideout(1, 10, overworld, 0, 5), hideout(2, 20, nether, 500, 7)));
+
+        for (int length = 0; length < data.length; length++) {
+            byte[] truncated = Arrays.copyOf(data, length);
+            assertThrows(IOException.class, () -> read(truncated), "Longueur " + length);
+        }
+    }
+
+    @Test
+    void badMagicIsRejected() throws IOException {
+        byte[] data = write(List.of(hideout(1, 10, overworld, 0, 5)));
+        data[0] ^= 0x01;
+
+        assertThrows(IOException.class, () -> read(data));
+    }
+
+    @Test
+    void unknownVersionIsRejected() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(HideoutCodec.MAGIC);
+        out.writeByte(HideoutCodec.FORMAT_VERSION + 1);
+
+        assertThrows(IOException.class, () -> read(bytes.toByteArray()));
+    }
+
+    @Test
+    void hugeCountWithoutDataFailsWithoutAllocating() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(HideoutCodec.MAGIC);
+        out.writeByte(HideoutCodec.FORMAT_VERSION);
+        out.writeByte(0); // Aucun monde
+        out.write(new byte[]{(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07}); // Integer.MAX_VALUE hideouts
+
+        assertThrows(IOException.class, () -> read(bytes.toByteArray()));
+    }
+
+    @Test
+    void negativeCountIsRejected() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(HideoutCodec.MAGIC);
+        out.writeByte(HideoutCodec.FORMAT_VERSION);
+        out.write(new byte[]{(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F}); // -1 mondes
+
+        assertThrows(IOException.class, () -> read(bytes.toByteArray()));
+    }
+
+    @Test
+    void encodeAndDecodeSingleHideout() throws IOException {
+        Hideout hideout = hideout(42, 7, nether, 1_024, 3);
+
+        byte[] data = HideoutCodec.encode(hideout);
+        List<Hideout> decoded = read(data);
+
+        assertEquals(1, decoded.size());
+        assertSameHideout(hideout, decoded.get(0));
+    }
+
+    // Méthodes privées
+
+    private byte[] write(List<Hideout> hideouts) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        HideoutCodec.writeSnapshot(bytes, hideouts);
+        return bytes.toByteArray();
+    }
+
+    private List<Hideout> read(byte[] data) throws IOException {
+        return HideoutCodec.readSnapshot(new ByteArrayInputStream(data), name -> {
+            resolvedNames.add(name);
+            return worldsByName.get(name);
+        });
+    }
+
+    private static Hideout hideout(int id, int gangOwnerId, World world, int x, int mineLevel) {
+        Region mainRegion = new Region(new Location(world, x, 60, -x), new Location(world, x + 99, 120, -x + 99));
+        Region mineRegion = new Region(new Location(world, x + 10, 61, -x + 10), new Location(world, x + 40, 100, -x + 40));
+        Location spawn = new Location(world, x + 50.5, 80, -x + 50.5, 90.5F, -12.25F);
+        return new Hideout(id, mainRegion, new Mine(mineRegion, mineLevel), spawn, gangOwnerId);
+    }
+
+    private static World world(String name) {
+        World world = mock(World.class);
+        when(world.getName()).thenReturn(name);
+        when(world.getUID()).thenReturn(UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8)));
+        return world;
+    }
+
+    private static void assertSameHideout(Hideout expected, Hideout actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getGangOwnerId(), actual.getGangOwnerId());
+        assertSameRegion(expected.getMainRegion(), actual.getMainRegion());
+        assertSameRegion(expected.getMine().getRegion(), actual.getMine().getRegion());
+        assertEquals(expected.getMine().getLevel(), actual.getMine().getLevel());
+        assertEquals(expected.getSpawnLocation(), actual.getSpawnLocation());
+    }
+
+    private static void assertSameRegion(Region expected, Region actual) {
+        assertEquals(expected.getPrimary(), actual.getPrimary());
+        assertEquals(expected.getSecondary(), actual.getSecondary());
+    }
+
+    private static int occurrences(byte[] data, String text) {
+        byte[] needle = text.getBytes(StandardCharsets.UTF_8);
+        int count = 0;
+        for (int i = 0; i + needle.length <= data.length; i++) {
+            if (Arrays.equals(data, i, i + needle.length, needle, 0, needle.length)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,105 @@
+package com.solandra.hideout.manager;
+
+import org.bukkit.Location;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HideoutSlotAllocatorTest {
+    private static final int SIZE_X = 200;
+    private static final int SIZE_Z = 150;
+    private static final int MIN_SPACING = 300;
+    private static final int PITCH = 512;
+
+    @Test
+    void firstSpiralCellsAreUniqueAndFillSquareRings() {
+        HideoutSlotAllocator allocator = new HideoutSlotAllocator(SIZE_X, SIZE_Z);
+        int rings = 10;
+        int cells = (2 * rings + 1) * (2 * rings + 1);
+
+        Set<Long> reserved = new HashSet<>();
+        for (int i = 0; i < cells; i++) {
+            Location primary = allocator.reserve(null);
+            assertEquals(0, Math.floorMod(primary.getBlockX(), PITCH));
+            assertEquals(0, Math.floorMod(primary.getBlockZ(), PITCH));
+
+            int cellX = primary.getBlockX() / PITCH;
+            int cellZ = primary.getBlockZ() / PITCH;
+            assertTrue(reserved.add(cellKey(cellX, cellZ)), "Case attribuée deux fois: " + cellX + ", " + cellZ);
+
+            // Chaque anneau est complet avant le suivant
+            int ring = (int) Math.ceil((Math.sqrt(i + 1) - 1) / 2);
+            assertEquals(ring, Math.max(Math.abs(cellX), Math.abs(cellZ)), "Index " + i);
+        }
+
+        assertEquals(cells, reserved.size());
+    }
+
+    @Test
+    void cellsNearLegacyHideoutsAreSkipped() {
+        HideoutSlotAllocator allocator = new HideoutSlotAllocator(SIZE_X, SIZE_Z);
+
+        // Hideouts placés avant la grille : alignés sur l'axe X, sans rapport avec le pas de la grille
+        List<int[]> legacy = new ArrayList<>();
+        for (int i = -6; i <= 6; i++) {
+            legacy.add(new int[]{i * (SIZE_X + 120) + 37, -11});
+        }
+        legacy.forEach(primary -> allocator.markOccupied(primary[0], primary[1]));
+
+        for (int i = 0; i < 200; i++) {
+            Location primary = allocator.reserve(null);
+            for (int[] existing : legacy) {
+                boolean farOnX = Math.abs(primary.getBlockX() - existing[0]) >= SIZE_X + MIN_SPACING;
+                boolean farOnZ = Math.abs(primary.getBlockZ() - existing[1]) >= SIZE_Z + MIN_SPACING;
+                assertTrue(farOnX || farOnZ, "Case trop proche du hideout en " + existing[0] + ", " + existing[1]
+                        + ": " + primary.getBlockX() + ", " + primary.getBlockZ());
+            }
+        }
+    }
+
+    @Test
+    void alignedHideoutOccupiesOnlyItsCell() {
+        HideoutSlotAllocator allocator = new HideoutSlotAllocator(SIZE_X, SIZE_Z);
+        allocator.markOccupied(0, 0);
+
+        Location first = allocator.reserve(null);
+
+        assertEquals(PITCH, first.getBlockX());
+        assertEquals(0, first.getBlockZ());
+    }
+
+    @Test
+    void releasedCellIsReusedFirst() {
+        HideoutSlotAllocator allocator = new HideoutSlotAllocator(SIZE_X, SIZE_Z);
+        allocator.reserve(null);
+        Location second = allocator.reserve(null);
+        allocator.reserve(null);
+
+        allocator.release(second);
+
+        assertEquals(second, allocator.reserve(null));
+    }
+
+    @Test
+    void releasedCellMarkedByExistingHideoutIsNotReused() {
+        HideoutSlotAllocator allocator = new HideoutSlotAllocator(SIZE_X, SIZE_Z);
+        allocator.reserve(null);
+        Location second = allocator.reserve(null);
+
+        allocator.release(second);
+        allocator.markOccupied(second.getBlockX(), second.getBlockZ());
+
+        assertNotEquals(second, allocator.reserve(null));
+    }
+
+    private static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+}
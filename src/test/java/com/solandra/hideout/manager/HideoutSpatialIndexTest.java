@@ -0,0 +1,166 @@
+package com.solandra.hideout.manager;
+
+import com.solandra.hideout.model.Hideout;
+import com.solandra.hideout.model.Mine;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mineacademy.fo.region.Region;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class HideoutSpatialIndexTest {
+    private static final int SIZE = 100;
+    private static final int SPACING = 128;
+
+    private World world;
+    private World otherWorld;
+    private HideoutSpatialIndex index;
+
+    @BeforeEach
+    void setUp() {
+        world = world("hideouts");
+        otherWorld = world("hideouts_nether");
+        index = new HideoutSpatialIndex();
+    }
+
+    @Test
+    void indexedHideoutIsFoundInItsRegions() {
+        Hideout hideout = hideout(1, -40, 300);
+        index.index(hideout);
+
+        // Dans la région principale, hors de la mine
+        assertSame(hideout, index.getHideoutAt(world, -40, 60, 300));
+        assertNull(index.getHideoutWithMineAt(world, -40, 60, 300));
+
+        // Dans la mine
+        assertSame(hideout, index.getHideoutAt(world, -20, 70, 320));
+        assertSame(hideout, index.getHideoutWithMineAt(world, -20, 70, 320));
+
+        // Hors des régions, dans un chunk couvert ou non, ou dans un autre monde
+        assertNull(index.getHideoutAt(world, -40, 59, 300));
+        assertNull(index.getHideoutAt(world, -41, 60, 300));
+        assertNull(index.getHideoutAt(world, 5_000, 60, 5_000));
+        assertNull(index.getHideoutAt(otherWorld, -20, 70, 320));
+        assertNull(index.getHideoutAt(null, -20, 70, 320));
+    }
+
+    @Test
+    void reindexFollowsTheMineRegion() {
+        Hideout hideout = hideout(1, 0, 0);
+        Region initialMine = hideout.getMine().getRegion();
+        index.index(hideout);
+
+        // Mine déplacée en partie hors de la région principale, sur des chunks qui n'étaient pas couverts
+        hideout.getMine().setMineRegion(new Region(new Location(world, 80, 61, 80), new Location(world, 150, 100, 150)));
+        index.index(hideout);
+
+        assertSame(hideout, index.getHideoutWithMineAt(world, 140, 70, 140));
+        assertNull(index.getHideoutWithMineAt(world, 20, 70, 20));
+        assertNull(index.getHideoutAt(world, 140, 70, 140));
+
+        // Retour à la mine d'origine : les chunks ajoutés ne pointent plus vers le hideout
+        hideout.getMine().setMineRegion(initialMine);
+        index.index(hideout);
+
+        assertSame(hideout, index.getHideoutWithMineAt(world, 20, 70, 20));
+        assertNull(index.getHideoutWithMineAt(world, 140, 70, 140));
+        assertSame(hideout, index.getHideoutAt(world, 99, 70, 99));
+    }
+
+    @Test
+    void removeForgetsTheHideout() {
+        Hideout hideout = hideout(1, 0, 0);
+        index.index(hideout);
+
+        index.remove(1);
+        index.remove(2);
+
+        assertNull(index.getHideoutAt(world, 20, 70, 20));
+        assertNull(index.getHideoutWithMineAt(world, 20, 70, 20));
+
+        index.index(hideout);
+        assertSame(hideout, index.getHideoutWithMineAt(world, 20, 70, 20));
+    }
+
+    @Test
+    void manyHideoutsSurviveResizesAndRemovals() {
+        List<Hideout> hideouts = new ArrayList<>();
+        int id = 1;
+        for (int cellX = -8; cellX < 8; cellX++) {
+            for (int cellZ = -8; cellZ < 8; cellZ++) {
+                Hideout hideout = hideout(id++, cellX * SPACING + 7, cellZ * SPACING - 3);
+                hideouts.add(hideout);
+                index.index(hideout);
+            }
+        }
+        assertAllFound(hideouts, List.of());
+
+        // Les suppressions décalent les clés suivantes de chaque groupe : les autres doivent rester accessibles
+        List<Hideout> kept = new ArrayList<>();
+        List<Hideout> removed = new ArrayList<>();
+        for (Hideout hideout : hideouts) {
+            if (hideout.getId() % 3 == 0) {
+                index.remove(hideout.getId());
+                removed.add(hideout);
+            } else {
+                kept.add(hideout);
+            }
+        }
+        assertAllFound(kept, removed);
+
+        removed.forEach(index::index);
+        assertAllFound(hideouts, List.of());
+    }
+
+    // Méthodes privées
+
+    /**
+     * Vérifie chaque chunk de la région principale des hideouts présents et absents.
+     */
+    private void assertAllFound(List<Hideout> present, List<Hideout> absent) {
+        for (Hideout hideout : present) {
+            int minX = hideout.getMainRegion().getPrimary().getBlockX();
+            int minZ = hideout.getMainRegion().getPrimary().getBlockZ();
+            for (int x = minX; x < minX + SIZE; x += 16) {
+                for (int z = minZ; z < minZ + SIZE; z += 16) {
+                    assertSame(hideout, index.getHideoutAt(world, x, 60, z), "Hideout " + hideout.getId() + " en " + x + ", " + z);
+                }
+            }
+            assertSame(hideout, index.getHideoutWithMineAt(world, minX + 20, 70, minZ + 20));
+        }
+
+        for (Hideout hideout : absent) {
+            int minX = hideout.getMainRegion().getPrimary().getBlockX();
+            int minZ = hideout.getMainRegion().getPrimary().getBlockZ();
+            for (int x = minX; x < minX + SIZE; x += 16) {
+                for (int z = minZ; z < minZ + SIZE; z += 16) {
+                    assertNull(index.getHideoutAt(world, x, 60, z), "Hideout retiré " + hideout.getId() + " en " + x + ", " + z);
+                }
+            }
+        }
+    }
+
+    private Hideout hideout(int id, int x, int z) {
+        Region mainRegion = new Region(new Location(world, x, 60, z), new Location(world, x + SIZE - 1, 120, z + SIZE - 1));
+        Region mineRegion = new Region(new Location(world, x + 10, 61, z + 10), new Location(world, x + 40, 100, z + 40));
+        Location spawn = new Location(world, x + 50.5, 80, z + 50.5);
+        return new Hideout(id, mainRegion, new Mine(mineRegion, 0), spawn, 0);
+    }
+
+    private static World world(String name) {
+        World world = mock(World.class);
+        when(world.getName()).thenReturn(name);
+        when(world.getUID()).thenReturn(UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8)));
+        return world;
+    }
+}
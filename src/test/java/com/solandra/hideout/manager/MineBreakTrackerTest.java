@@ -0,0 +1,87 @@
+package com.solandra.hideout.manager;
+
+import com.solandra.hideout.utils.CuboidBounds;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MineBreakTrackerTest {
+    private static final int HIDEOUT_ID = 7;
+    private static final CuboidBounds PREVIOUS = new CuboidBounds(10, 40, -20, 19, 49, -11);
+    private static final CuboidBounds UPGRADED = new CuboidBounds(10, 40, -20, 29, 49, -6);
+
+    @Test
+    void resizeKeepsBrokenPositionsAtTheSameCoordinates() {
+        MineBreakTracker tracker = new MineBreakTracker();
+        tracker.reset(HIDEOUT_ID, PREVIOUS);
+
+        int[][] broken = {{10, 40, -20}, {19, 49, -11}, {15, 44, -16}, {11, 40, -20}, {10, 41, -20}, {10, 40, -19}};
+        for (int[] position : broken) {
+            assertTrue(tracker.markBroken(HIDEOUT_ID, position[0], position[1], position[2]));
+        }
+
+        tracker.resize(HIDEOUT_ID, PREVIOUS, UPGRADED);
+
+        assertEquals(broken.length, tracker.getMinedCount(HIDEOUT_ID, UPGRADED));
+        assertEquals(-1, tracker.getMinedCount(HIDEOUT_ID, PREVIOUS));
+
+        BitSet drained = tracker.drain(HIDEOUT_ID, UPGRADED);
+        assertEquals(broken.length, drained.cardinality());
+        for (int[] position : broken) {
+            assertTrue(drained.get(MineBreakTracker.localIndex(UPGRADED, position[0], position[1], position[2])),
+                    "Position perdue: " + position[0] + ", " + position[1] + ", " + position[2]);
+        }
+    }
+
+    @Test
+    void addedCellsAreNotMarkedAfterResize() {
+        MineBreakTracker tracker = new MineBreakTracker();
+        tracker.reset(HIDEOUT_ID, PREVIOUS);
+        tracker.markBroken(HIDEOUT_ID, 12, 42, -14);
+
+        tracker.resize(HIDEOUT_ID, PREVIOUS, UPGRADED);
+
+        assertFalse(tracker.markBroken(HIDEOUT_ID, 12, 42, -14));
+        assertTrue(tracker.markBroken(HIDEOUT_ID, 29, 49, -6));
+        assertTrue(tracker.markBroken(HIDEOUT_ID, 25, 40, -20));
+        assertFalse(tracker.markBroken(HIDEOUT_ID, 30, 49, -6));
+        assertEquals(3, tracker.getMinedCount(HIDEOUT_ID, UPGRADED));
+    }
+
+    @Test
+    void resizeFromOtherBoundsDropsTheTracking() {
+        MineBreakTracker tracker = new MineBreakTracker();
+        tracker.reset(HIDEOUT_ID, PREVIOUS);
+        tracker.markBroken(HIDEOUT_ID, 12, 42, -14);
+
+        tracker.resize(HIDEOUT_ID, new CuboidBounds(0, 40, -20, 19, 49, -11), UPGRADED);
+
+        assertEquals(-1, tracker.getMinedCount(HIDEOUT_ID, UPGRADED));
+        assertNull(tracker.drain(HIDEOUT_ID, UPGRADED));
+        assertFalse(tracker.markBroken(HIDEOUT_ID, 12, 42, -14));
+    }
+
+    @Test
+    void resizeOfUntrackedMineStaysUntracked() {
+        MineBreakTracker tracker = new MineBreakTracker();
+
+        tracker.resize(HIDEOUT_ID, PREVIOUS, UPGRADED);
+
+        assertEquals(-1, tracker.getMinedCount(HIDEOUT_ID, UPGRADED));
+    }
+
+    @Test
+    void localIndexIsYMajorThenZThenX() {
+        assertEquals(0, MineBreakTracker.localIndex(PREVIOUS, 10, 40, -20));
+        assertEquals(1, MineBreakTracker.localIndex(PREVIOUS, 11, 40, -20));
+        assertEquals(10, MineBreakTracker.localIndex(PREVIOUS, 10, 40, -19));
+        assertEquals(100, MineBreakTracker.localIndex(PREVIOUS, 10, 41, -20));
+        assertEquals(999, MineBreakTracker.localIndex(PREVIOUS, 19, 49, -11));
+        assertEquals(-1, MineBreakTracker.localIndex(PREVIOUS, 20, 40, -20));
+    }
+}
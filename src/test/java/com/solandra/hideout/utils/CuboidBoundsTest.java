@@ -0,0 +1,83 @@
+package com.solandra.hideout.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CuboidBoundsTest {
+
+    @Test
+    void subtractLeavesDisjointPiecesOutsideTheOtherCuboid() {
+        CuboidBounds base = new CuboidBounds(0, 0, 0, 9, 9, 9);
+        List<CuboidBounds> others = List.of(
+                new CuboidBounds(2, 3, 4, 6, 7, 8),      // Au centre
+                new CuboidBounds(-5, -5, -5, 4, 4, 4),   // Sur un coin
+                new CuboidBounds(5, -10, 0, 20, 20, 9),  // Sur une face entière
+                new CuboidBounds(0, 0, 0, 9, 9, 0),      // Une seule couche en Z
+                new CuboidBounds(3, 3, 3, 3, 3, 3),      // Un seul bloc
+                new CuboidBounds(20, 20, 20, 30, 30, 30), // Sans chevauchement
+                new CuboidBounds(-1, -1, -1, 10, 10, 10)); // Contenant tout le cuboïde
+
+        for (CuboidBounds other : others) {
+            assertSubtraction(base, other);
+        }
+    }
+
+    @Test
+    void subtractGivesTheCellsAddedByAnUpgrade() {
+        CuboidBounds previous = new CuboidBounds(100, 40, 100, 130, 80, 115);
+        CuboidBounds upgraded = new CuboidBounds(100, 40, 100, 140, 80, 120);
+
+        List<CuboidBounds> added = assertSubtraction(upgraded, previous);
+
+        assertEquals(2, added.size());
+        assertEquals(new CuboidBounds(131, 40, 100, 140, 80, 120), added.get(0));
+        assertEquals(new CuboidBounds(100, 40, 116, 130, 80, 120), added.get(1));
+    }
+
+    @Test
+    void subtractOfContainedCuboidIsEmpty() {
+        CuboidBounds inner = new CuboidBounds(1, 1, 1, 2, 2, 2);
+
+        assertTrue(inner.subtract(new CuboidBounds(0, 0, 0, 5, 5, 5)).isEmpty());
+        assertTrue(inner.subtract(inner).isEmpty());
+    }
+
+    @Test
+    void intersectOfDisjointCuboidsIsNull() {
+        assertNull(new CuboidBounds(0, 0, 0, 4, 4, 4).intersect(new CuboidBounds(5, 0, 0, 9, 4, 4)));
+        assertEquals(new CuboidBounds(4, 0, 0, 4, 4, 4), new CuboidBounds(0, 0, 0, 4, 4, 4).intersect(new CuboidBounds(4, 0, 0, 9, 9, 9)));
+    }
+
+    // Méthodes privées
+
+    /**
+     * Vérifie que les morceaux sont dans le cuboïde, hors de l'autre, disjoints deux à deux,
+     * et que leur volume est celui du cuboïde moins l'intersection.
+     */
+    private static List<CuboidBounds> assertSubtraction(CuboidBounds base, CuboidBounds other) {
+        List<CuboidBounds> pieces = base.subtract(other);
+        CuboidBounds overlap = base.intersect(other);
+        long expectedVolume = base.getVolume() - (overlap == null ? 0 : overlap.getVolume());
+
+        long volume = 0;
+        for (int i = 0; i < pieces.size(); i++) {
+            CuboidBounds piece = pieces.get(i);
+            volume += piece.getVolume();
+
+            assertEquals(piece, base.intersect(piece), "Morceau hors du cuboïde: " + piece + " pour " + other);
+            assertNull(piece.intersect(other), "Morceau dans le cuboïde retiré: " + piece + " pour " + other);
+            for (int j = i + 1; j < pieces.size(); j++) {
+                assertNull(piece.intersect(pieces.get(j)), "Morceaux chevauchants: " + piece + " et " + pieces.get(j));
+            }
+        }
+
+        assertTrue(pieces.size() <= 6, "Trop de morceaux pour " + other);
+        assertEquals(expectedVolume, volume, "Volume pour " + other);
+        return pieces;
+    }
+}
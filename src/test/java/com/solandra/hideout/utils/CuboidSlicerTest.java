@@ -0,0 +1,82 @@
+package com.solandra.hideout.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CuboidSlicerTest {
+
+    @Test
+    void slicesCoverEveryBlockOnceWithinTheLimit() {
+        List<CuboidBounds> cuboids = List.of(
+                new CuboidBounds(-20, 10, 5, 14, 40, 27),
+                new CuboidBounds(100, 0, 100, 100, 0, 100),
+                new CuboidBounds(0, 60, 0, 63, 62, 0));
+
+        for (long maxBlocks : new long[]{1, 7, 35, 36, 100, 805, 1_000, 1_000_000}) {
+            Set<Long> covered = new HashSet<>();
+            long expectedVolume = 0;
+            for (CuboidBounds cuboid : cuboids) {
+                expectedVolume += cuboid.getVolume();
+            }
+
+            CuboidSlicer slicer = new CuboidSlicer(cuboids);
+            for (CuboidBounds next = slicer.next(maxBlocks); next != null; next = slicer.next(maxBlocks)) {
+                CuboidBounds slice = next;
+                assertTrue(slice.getVolume() <= maxBlocks, "Tranche trop grande: " + slice + " pour " + maxBlocks);
+                assertTrue(cuboids.stream().anyMatch(cuboid -> slice.equals(cuboid.intersect(slice))), "Tranche hors des cuboïdes: " + slice);
+
+                for (int y = slice.getMinY(); y <= slice.getMaxY(); y++) {
+                    for (int z = slice.getMinZ(); z <= slice.getMaxZ(); z++) {
+                        for (int x = slice.getMinX(); x <= slice.getMaxX(); x++) {
+                            assertTrue(covered.add(key(x, y, z)), "Bloc écrit deux fois: " + x + ", " + y + ", " + z);
+                        }
+                    }
+                }
+            }
+
+            assertEquals(expectedVolume, covered.size(), "Limite " + maxBlocks);
+        }
+    }
+
+    @Test
+    void largeLimitTakesWholeLayers() {
+        CuboidBounds cuboid = new CuboidBounds(0, 0, 0, 9, 9, 9);
+        CuboidSlicer slicer = new CuboidSlicer(List.of(cuboid));
+
+        assertEquals(new CuboidBounds(0, 0, 0, 9, 2, 9), slicer.next(350));
+        assertEquals(new CuboidBounds(0, 3, 0, 9, 5, 9), slicer.next(350));
+        assertEquals(new CuboidBounds(0, 6, 0, 9, 8, 9), slicer.next(350));
+        assertEquals(new CuboidBounds(0, 9, 0, 9, 9, 9), slicer.next(350));
+        assertNull(slicer.next(350));
+    }
+
+    @Test
+    void smallLimitFallsBackToRowsThenSegments() {
+        CuboidBounds cuboid = new CuboidBounds(0, 0, 0, 9, 1, 9);
+        CuboidSlicer slicer = new CuboidSlicer(List.of(cuboid));
+
+        assertEquals(new CuboidBounds(0, 0, 0, 9, 0, 3), slicer.next(45));
+        assertEquals(new CuboidBounds(0, 0, 4, 3, 0, 4), slicer.next(4));
+        assertEquals(new CuboidBounds(4, 0, 4, 9, 0, 4), slicer.next(45));
+        assertEquals(new CuboidBounds(0, 0, 5, 9, 0, 9), slicer.next(100));
+        assertEquals(new CuboidBounds(0, 1, 0, 9, 1, 9), slicer.next(100));
+        assertNull(slicer.next(100));
+    }
+
+    @Test
+    void emptyListHasNoSlice() {
+        assertNull(new CuboidSlicer(new ArrayList<>()).next(10));
+    }
+
+    private static long key(int x, int y, int z) {
+        return ((long) (x & 0x1FFFFF) << 42) | ((long) (y & 0x1FFFFF) << 21) | (z & 0x1FFFFF);
+    }
+}